@@ -0,0 +1,137 @@
+package edu.grinnell.csc207.bench;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.grinnell.csc207.util.game.GameLogic;
+import edu.grinnell.csc207.util.game.GameOptions;
+import edu.grinnell.csc207.util.game.Scores;
+import edu.grinnell.csc207.util.game.Words;
+
+/**
+ * Benchmarks for playing a game with the default word lists. Run from the project directory.
+ *
+ * @author Andrew Fargo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLogicBench {
+  /** Valid guesses, cycled through. */
+  static final String[] GUESSES = {"which", "there", "their", "about", "would", "these"};
+
+  /** Number of guesses allowed per game, and so the height of the board. */
+  @Param({"6", "12"})
+  int guesses;
+
+  /** The game under test. */
+  GameLogic game;
+
+  /** Where the game's wins are recorded. */
+  Scores scores;
+
+  /** The scores' save file. */
+  Path save;
+
+  /** Which guess to use next. */
+  int next;
+
+  /** Discards whatever is rendered. */
+  PrintWriter sink = new PrintWriter(Writer.nullWriter());
+
+  /**
+   * Load the game.
+   *
+   * @throws IOException if the word lists cannot be read.
+   */
+  @Setup
+  public void setup() throws IOException {
+    GameOptions opts = new GameOptions();
+    opts.setSeed(Optional.of(207L));
+    opts.setGuesses(this.guesses);
+    this.save = Files.createTempFile("scores", ".txt");
+    this.scores = new Scores(this.save);
+    this.game = new GameLogic(opts, new Words(opts), this.scores);
+  } // setup()
+
+  /**
+   * Close the scores, so no trial leaves a background write or shutdown hook behind, and delete
+   * their files.
+   *
+   * @throws IOException if the scores cannot be saved or deleted.
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    this.scores.close();
+    Files.deleteIfExists(this.save);
+    Files.deleteIfExists(this.save.resolveSibling(this.save.getFileName() + ".journal"));
+  } // tearDown()
+
+  /**
+   * Register a guess, starting a new game whenever one ends.
+   *
+   * @return The state after the guess.
+   */
+  @Benchmark
+  public GameLogic.GameState registerGuess() {
+    this.next = (this.next + 1) % GUESSES.length;
+    GameLogic.GameState state = this.game.registerGuess(GUESSES[this.next]);
+    if (state != GameLogic.GameState.CONTINUE) {
+      this.game.reset();
+    } // if
+    return state;
+  } // registerGuess()
+
+  /**
+   * Render the board.
+   *
+   * @return The rendering.
+   */
+  @Benchmark
+  public String render() {
+    return this.game.toString();
+  } // render()
+
+  /**
+   * Write the board from its cached rows.
+   *
+   * @return The writer.
+   */
+  @Benchmark
+  public PrintWriter renderTo() {
+    this.game.render(this.sink);
+    return this.sink;
+  } // renderTo()
+
+  /**
+   * Start a new game.
+   *
+   * @return The new target.
+   */
+  @Benchmark
+  public String reset() {
+    this.game.reset();
+    return this.game.getTarget();
+  } // reset()
+} // class GameLogicBench
@@ -0,0 +1,194 @@
+package edu.grinnell.csc207.bench;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.grinnell.csc207.util.matrix.Matrices;
+import edu.grinnell.csc207.util.matrix.Matrix;
+import edu.grinnell.csc207.util.matrix.MatrixPrinter;
+import edu.grinnell.csc207.util.matrix.MatrixV0;
+import edu.grinnell.csc207.util.matrix.MatrixV1;
+
+/**
+ * Benchmarks for structural and bulk matrix operations on square matrices of various sizes.
+ *
+ * @author Andrew Fargo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixBench {
+  /** Width and height of the matrix. */
+  @Param({"8", "64", "512"})
+  int size;
+
+  /** The implementation: nested arrays (V0) or one gap-buffered array (V1). */
+  @Param({"V0", "V1"})
+  String impl;
+
+  /** The matrix under test. */
+  Matrix<Integer> matrix;
+
+  /** An equal copy, for comparisons. */
+  Matrix<Integer> twin;
+
+  /** A copy to be overwritten. */
+  Matrix<Integer> copy;
+
+  /** Discards whatever is printed. */
+  PrintWriter sink = new PrintWriter(Writer.nullWriter());
+
+  /** A printer reused for every print. */
+  MatrixPrinter printer = new MatrixPrinter();
+
+  /**
+   * Build the matrices.
+   */
+  @Setup
+  public void setup() {
+    this.matrix = this.impl.equals("V1")
+        ? new MatrixV1<>(this.size, this.size, 0)
+        : new MatrixV0<>(this.size, this.size, 0);
+    for (int row = 0; row < this.size; row++) {
+      for (int col = 0; col < this.size; col++) {
+        this.matrix.set(row, col, row * this.size + col);
+      } // for
+    } // for
+    this.twin = this.matrix.clone();
+    this.copy = this.matrix.clone();
+  } // setup()
+
+  /**
+   * Insert and then delete a row in the middle.
+   *
+   * @return The matrix.
+   */
+  @Benchmark
+  public Matrix<Integer> insertDeleteRow() {
+    this.matrix.insertRow(this.size / 2);
+    this.matrix.deleteRow(this.size / 2);
+    return this.matrix;
+  } // insertDeleteRow()
+
+  /**
+   * Insert and then delete a column in the middle.
+   *
+   * @return The matrix.
+   */
+  @Benchmark
+  public Matrix<Integer> insertDeleteCol() {
+    this.matrix.insertCol(this.size / 2);
+    this.matrix.deleteCol(this.size / 2);
+    return this.matrix;
+  } // insertDeleteCol()
+
+  /**
+   * Fill the whole copy.
+   *
+   * @return The copy.
+   */
+  @Benchmark
+  public Matrix<Integer> fillRegion() {
+    this.copy.fillRegion(0, 0, this.size, this.size, 1);
+    return this.copy;
+  } // fillRegion()
+
+  /**
+   * Copy the matrix.
+   *
+   * @return The copy.
+   */
+  @Benchmark
+  public Matrix<Integer> cloneMatrix() {
+    return this.matrix.clone();
+  } // cloneMatrix()
+
+  /**
+   * Compare the matrix with an equal one, element by element.
+   *
+   * @return Whether they are equal.
+   */
+  @Benchmark
+  public boolean equalsMatrix() {
+    return this.matrix.equals(this.twin);
+  } // equalsMatrix()
+
+  /**
+   * Hash the matrix.
+   *
+   * @return The hash code.
+   */
+  @Benchmark
+  public int hashMatrix() {
+    return this.matrix.hashCode();
+  } // hashMatrix()
+
+  /**
+   * Fill the whole copy, in parallel blocks of rows.
+   *
+   * @return The copy.
+   */
+  @Benchmark
+  public Matrix<Integer> parallelFillRegion() {
+    Matrices.fillRegion(this.copy, 0, 0, this.size, this.size, 1);
+    return this.copy;
+  } // parallelFillRegion()
+
+  /**
+   * Compare the matrix with an equal one, in parallel blocks of rows.
+   *
+   * @return Whether they are equal.
+   */
+  @Benchmark
+  public boolean parallelEquals() {
+    return Matrices.equals(this.matrix, this.twin);
+  } // parallelEquals()
+
+  /**
+   * Hash the matrix, in parallel blocks of rows.
+   *
+   * @return The hash code.
+   */
+  @Benchmark
+  public int parallelHash() {
+    return Matrices.hashCode(this.matrix);
+  } // parallelHash()
+
+  /**
+   * Print the matrix with the static method.
+   *
+   * @return The writer.
+   */
+  @Benchmark
+  public PrintWriter print() {
+    Matrix.print(this.sink, this.matrix);
+    return this.sink;
+  } // print()
+
+  /**
+   * Print the matrix with a reused printer.
+   *
+   * @return The writer.
+   */
+  @Benchmark
+  public PrintWriter printReused() {
+    this.printer.print(this.sink, this.matrix, false);
+    return this.sink;
+  } // printReused()
+} // class MatrixBench
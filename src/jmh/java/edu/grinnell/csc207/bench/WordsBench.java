@@ -0,0 +1,116 @@
+package edu.grinnell.csc207.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.grinnell.csc207.util.game.GameOptions;
+import edu.grinnell.csc207.util.game.Words;
+
+/**
+ * Benchmarks for choosing and validating words, over generated word lists of various sizes.
+ *
+ * @author Andrew Fargo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordsBench {
+  /** Number of words in both the wordlist and the checklist. */
+  @Param({"430", "5757", "100000"})
+  int size;
+
+  /** The words under test. */
+  Words words;
+
+  /** Guesses to validate; alternately present and absent. */
+  String[] probes;
+
+  /** Which probe to use next. */
+  int next;
+
+  /**
+   * Generate the word lists and load them.
+   *
+   * @throws IOException if the lists cannot be written or read.
+   */
+  @Setup
+  public void setup() throws IOException {
+    Random rng = new Random(207);
+    List<String> list = new ArrayList<>();
+    for (int i = 0; i < this.size; i++) {
+      list.add(WordsBench.randomWord(rng));
+    } // for
+    Path file = Files.createTempFile("words", ".txt");
+    file.toFile().deleteOnExit();
+    Files.write(file, list);
+
+    GameOptions opts = new GameOptions();
+    opts.setWordlist(file.toString());
+    opts.setChecklist(file.toString());
+    opts.setSeed(Optional.of(207L));
+    this.words = new Words(opts);
+
+    this.probes = new String[1024];
+    for (int i = 0; i < this.probes.length; i++) {
+      this.probes[i] = (i % 2 == 0)
+          ? list.get(rng.nextInt(list.size())).toUpperCase()
+          : WordsBench.randomWord(rng).toUpperCase();
+    } // for
+  } // setup()
+
+  /**
+   * Make up a five-letter word.
+   *
+   * @param rng The source of randomness.
+   * @return The word, in lower case.
+   */
+  static String randomWord(Random rng) {
+    char[] letters = new char[5];
+    for (int i = 0; i < letters.length; i++) {
+      letters[i] = (char) ('a' + rng.nextInt(26));
+    } // for
+    return new String(letters);
+  } // randomWord(Random)
+
+  /**
+   * Validate a guess.
+   *
+   * @return Whether it was valid.
+   */
+  @Benchmark
+  public boolean test() {
+    this.next = (this.next + 1) & (this.probes.length - 1);
+    return this.words.test(this.probes[this.next]);
+  } // test()
+
+  /**
+   * Choose a target.
+   *
+   * @return The target.
+   */
+  @Benchmark
+  public String next() {
+    return this.words.next();
+  } // next()
+} // class WordsBench
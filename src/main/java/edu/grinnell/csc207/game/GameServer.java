@@ -0,0 +1,338 @@
+package edu.grinnell.csc207.game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import edu.grinnell.csc207.util.game.Feedback;
+import edu.grinnell.csc207.util.game.GameLogic;
+import edu.grinnell.csc207.util.game.GameOptions;
+import edu.grinnell.csc207.util.game.Scores;
+import edu.grinnell.csc207.util.game.Words;
+
+/**
+ * Hosts many games at once over a plain TCP line protocol, one session per connection. The word
+ * lists and scores are loaded once and shared by every session; each session only holds its own
+ * board and random number generator.
+ *
+ * <p>Sessions run on virtual threads when the JVM provides them, and on ordinary threads
+ * otherwise.
+ *
+ * <p>The protocol, one line per message:
+ *
+ * <pre>
+ *   server: READY length guesses      on connecting, and after NEW
+ *   client: a word                    a guess; the server replies with one of
+ *   server: REDO                        not a valid guess
+ *   server: CONTINUE marks left         one mark per letter: 2 green, 1 yellow, 0 gray
+ *   server: WIN marks
+ *   server: LOSE marks TARGET
+ *   client: NEW                       abandon the game and start another
+ *   client: BOARD                     the server replies with the board, then "."
+ *   client: NAME player               record wins under a name; the server replies OK or REDO
+ *   client: STATS                     the server replies with the player's wins, then "."
+ *   client: SUSPEND                   the server replies SAVED and a token, then READY for a
+ *                                     new game; REDO if too many games are suspended
+ *   client: RESUME token              continue a suspended game, once, in any session on this
+ *                                     server; the server replies READY or REDO
+ *   client: QUIT                      the server closes the connection
+ *   server: ERROR message             in place of the reply to any command the server failed
+ *                                     to carry out; the session goes on
+ * </pre>
+ *
+ * <p>Suspended games stay on the server, and the token is only a random name for one, so a
+ * client can neither read the target from it nor forge a game of its own.
+ *
+ * <p>Usage: {@code GameServer [port]}, then e.g. {@code nc localhost 2070}.
+ *
+ * @author Andrew Fargo
+ */
+public class GameServer {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The port used if none is given. */
+  public static final int DEFAULT_PORT = 2070;
+
+  /** The most games suspended at once. */
+  public static final int MAX_SUSPENDED = 1 << 16;
+
+  /** Bytes of randomness in each token. */
+  private static final int TOKEN_BYTES = 16;
+
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** Options shared by every session. */
+  private final GameOptions opts;
+
+  /** Word lists shared by every session. */
+  private final Words words;
+
+  /** Scores shared by every session. */
+  private final Scores scores;
+
+  /** Suspended games, by token. */
+  private final Map<String, byte[]> suspended;
+
+  /** Chooses tokens. */
+  private final SecureRandom tokens;
+
+  // +-------------+---------------------------------------------------
+  // | Constructor |
+  // +-------------+
+
+  /**
+   * Load everything the sessions will share.
+   *
+   * @param options The options for every game.
+   * @throws IOException if the configured files are invalid.
+   */
+  public GameServer(GameOptions options) throws IOException {
+    this.opts = options;
+    this.words = new Words(options);
+    this.scores = Scores.open(options);
+    this.suspended = new ConcurrentHashMap<>();
+    this.tokens = new SecureRandom();
+  } // GameServer(GameOptions)
+
+  // +---------+---------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Start a server with the default options.
+   *
+   * @param args The port to listen on, optionally.
+   * @throws IOException if the files are invalid or the port cannot be used.
+   */
+  public static void main(String[] args) throws IOException {
+    int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    // Scores are saved in the background and on shutdown, so there is nothing to clean up.
+    GameServer server = new GameServer(new GameOptions());
+    server.serve(new ServerSocket(port));
+  } // main(String[])
+
+  /**
+   * Accept connections until the socket is closed, running one session for each. Closing the
+   * socket from another thread stops the server; sessions already running go on until their
+   * clients quit.
+   *
+   * @param listener The socket to accept connections on.
+   * @throws IOException if accepting fails other than by the socket closing.
+   */
+  public void serve(ServerSocket listener) throws IOException {
+    ExecutorService sessions = GameServer.sessionExecutor();
+    try (listener) {
+      while (!listener.isClosed()) {
+        Socket client;
+        try {
+          client = listener.accept();
+        } catch (SocketException e) {
+          if (listener.isClosed()) {
+            // Closed to stop the server, not a failure.
+            return;
+          } // if
+          throw e;
+        } // try/catch
+        sessions.execute(() -> this.session(client));
+      } // while
+    } finally {
+      sessions.shutdown();
+    } // try/finally
+  } // serve(ServerSocket)
+
+  /**
+   * Create an executor that runs each task on a new virtual thread if the JVM supports them, or
+   * on pooled platform threads if not.
+   *
+   * @return The executor.
+   */
+  static ExecutorService sessionExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool();
+    } // try/catch
+  } // sessionExecutor()
+
+  /**
+   * Play games with one client until it quits or disconnects.
+   *
+   * @param client The client's connection.
+   */
+  void session(Socket client) {
+    try (client;
+        BufferedReader eyes = new BufferedReader(
+            new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter pen = new PrintWriter(client.getOutputStream(), true,
+            StandardCharsets.UTF_8)) {
+      Words own = new Words(this.words, ThreadLocalRandom.current().nextLong());
+      GameLogic game = new GameLogic(this.opts, own, this.scores);
+      GameServer.ready(pen, game);
+
+      String line = eyes.readLine();
+      while (line != null && !line.trim().equalsIgnoreCase("QUIT")) {
+        try {
+          this.command(pen, game, line.trim());
+        } catch (RuntimeException e) {
+          // One command gone wrong must not cost the client its session.
+          pen.println("ERROR " + e.getClass().getSimpleName()
+              + ((e.getMessage() == null) ? "" : ": " + e.getMessage()));
+        } // try/catch
+        line = eyes.readLine();
+      } // while
+    } catch (IOException e) {
+      // The client went away; nothing else to clean up.
+      return;
+    } // try/catch
+  } // session(Socket)
+
+  /**
+   * Carry out one command of a session, other than QUIT.
+   *
+   * @param pen Where to reply.
+   * @param game The session's game.
+   * @param command The command, trimmed.
+   */
+  private void command(PrintWriter pen, GameLogic game, String command) {
+    if (command.equalsIgnoreCase("NEW")) {
+      game.reset();
+      GameServer.ready(pen, game);
+    } else if (command.equalsIgnoreCase("BOARD")) {
+      game.render(pen);
+      pen.println(".");
+    } else if (command.regionMatches(true, 0, "NAME ", 0, 5)) {
+      GameServer.name(pen, game, command.substring(5).trim());
+    } else if (command.equalsIgnoreCase("SUSPEND")) {
+      this.suspend(pen, game);
+    } else if (command.regionMatches(true, 0, "RESUME ", 0, 7)) {
+      this.resume(pen, game, command.substring(7).trim());
+    } else if (command.equalsIgnoreCase("STATS")) {
+      pen.print((game.getPlayer() == null)
+          ? this.scores.toString()
+          : this.scores.toString(game.getPlayer()));
+      pen.println(".");
+    } else {
+      GameServer.guess(pen, game, command);
+    } // if/else
+  } // command(PrintWriter, GameLogic, String)
+
+  /**
+   * Announce a new game.
+   *
+   * @param pen Where to write.
+   * @param game The game.
+   */
+  private static void ready(PrintWriter pen, GameLogic game) {
+    pen.printf("READY %d %d\n", game.getTarget().length(), game.getGuessesLeft());
+    pen.flush();
+  } // ready(PrintWriter, GameLogic)
+
+  /**
+   * Put a game aside and start another.
+   *
+   * @param pen Where to write.
+   * @param game The game.
+   */
+  private void suspend(PrintWriter pen, GameLogic game) {
+    if (this.suspended.size() >= MAX_SUSPENDED) {
+      pen.println("REDO");
+      return;
+    } // if
+    byte[] random = new byte[TOKEN_BYTES];
+    this.tokens.nextBytes(random);
+    String token = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+    this.suspended.put(token, game.snapshot());
+    pen.println("SAVED " + token);
+    game.reset();
+    GameServer.ready(pen, game);
+  } // suspend(PrintWriter, GameLogic)
+
+  /**
+   * Continue a suspended game.
+   *
+   * @param pen Where to write.
+   * @param game The game to replace.
+   * @param token The token sent by SUSPEND.
+   */
+  private void resume(PrintWriter pen, GameLogic game, String token) {
+    byte[] saved = this.suspended.remove(token);
+    if (saved == null) {
+      pen.println("REDO");
+      return;
+    } // if
+    game.restore(saved);
+    GameServer.ready(pen, game);
+  } // resume(PrintWriter, GameLogic, String)
+
+  /**
+   * Name the player of a session.
+   *
+   * @param pen Where to write.
+   * @param game The game.
+   * @param player The name.
+   */
+  private static void name(PrintWriter pen, GameLogic game, String player) {
+    try {
+      // Looking the player up checks the name before any game is recorded under it.
+      game.getScores().toString(player);
+      game.setPlayer(player);
+      pen.println("OK");
+    } catch (IllegalArgumentException e) {
+      pen.println("REDO");
+    } // try/catch
+  } // name(PrintWriter, GameLogic, String)
+
+  /**
+   * Register a guess and report the result, starting a new game if this one ended.
+   *
+   * @param pen Where to write.
+   * @param game The game.
+   * @param guess The guess.
+   */
+  private static void guess(PrintWriter pen, GameLogic game, String guess) {
+    GameLogic.GameState state = game.registerGuess(guess);
+    if (state == GameLogic.GameState.REDO) {
+      pen.println("REDO");
+      return;
+    } // if
+
+    int pattern = game.getPattern(game.getGuessesMade() - 1);
+    StringBuilder marks = new StringBuilder();
+    for (int i = 0; i < game.getTarget().length(); i++) {
+      marks.append(Feedback.mark(pattern, i));
+    } // for
+    switch (state) {
+      case WIN:
+        pen.printf("WIN %s\n", marks);
+        break;
+      case LOSE:
+        pen.printf("LOSE %s %s\n", marks, game.getTarget());
+        break;
+      default:
+        pen.printf("CONTINUE %s %d\n", marks, game.getGuessesLeft());
+        break;
+    } // switch
+    if (state != GameLogic.GameState.CONTINUE) {
+      game.reset();
+      GameServer.ready(pen, game);
+    } // if
+    pen.flush();
+  } // guess(PrintWriter, GameLogic, String)
+} // class GameServer
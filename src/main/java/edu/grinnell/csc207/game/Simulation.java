@@ -0,0 +1,154 @@
+package edu.grinnell.csc207.game;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.grinnell.csc207.util.game.GameLogic;
+import edu.grinnell.csc207.util.game.GameLogic.GameState;
+import edu.grinnell.csc207.util.game.GameOptions;
+import edu.grinnell.csc207.util.game.Scores;
+import edu.grinnell.csc207.util.game.Solver;
+import edu.grinnell.csc207.util.game.Strategy;
+import edu.grinnell.csc207.util.game.WordBank;
+import edu.grinnell.csc207.util.game.Words;
+
+/**
+ * Plays many seeded games without the console interface, for load testing the game logic and
+ * tuning word lists. The word lists are loaded once and shared; each worker thread drives its
+ * own GameLogic with its own seed. Seeded games are never scored, so nothing is saved.
+ *
+ * <p>Usage: {@code Simulation [games] [threads] [seed] [solver|random] [pattern table]}
+ *
+ * @author Andrew Fargo
+ */
+public class Simulation {
+  /**
+   * Run the simulation and report throughput and the distribution of guesses.
+   *
+   * @param args Number of games, number of threads, base seed, strategy, pattern table file;
+   *     all optional.
+   * @throws IOException if the configured files are invalid.
+   * @throws InterruptedException if interrupted while waiting for the workers.
+   * @throws ExecutionException if a worker fails.
+   */
+  public static void main(String[] args)
+      throws IOException, InterruptedException, ExecutionException {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    int games = (args.length > 0) ? Integer.parseInt(args[0]) : 10000;
+    int threads = (args.length > 1)
+        ? Integer.parseInt(args[1])
+        : Runtime.getRuntime().availableProcessors();
+    long seed = (args.length > 2) ? Long.parseLong(args[2]) : 0;
+    String strategy = (args.length > 3) ? args[3] : "solver";
+
+    GameOptions opts = new GameOptions();
+    opts.setSeed(Optional.of(seed));
+    if (args.length > 4) {
+      opts.setPatternTable(args[4]);
+    } // if
+    Words shared = new Words(opts);
+    try (Scores scores = Scores.open(opts)) {
+      ExecutorService pool = Executors.newFixedThreadPool(threads);
+      List<Future<long[]>> results = new ArrayList<>();
+      long[] totals;
+      long elapsed;
+      try {
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+          int count = games / threads + ((t < games % threads) ? 1 : 0);
+          Words words = new Words(shared, seed + t);
+          Strategy player = Simulation.strategy(strategy, words, seed + t);
+          results.add(pool.submit(() -> Simulation.play(new GameLogic(opts, words, scores),
+              player, count)));
+        } // for
+
+        // Index 0 counts losses, the last index invalid guesses, and the rest wins by guesses.
+        totals = new long[opts.getGuesses() + 2];
+        for (Future<long[]> result : results) {
+          long[] counts = result.get();
+          for (int i = 0; i < totals.length; i++) {
+            totals[i] += counts[i];
+          } // for
+        } // for
+        elapsed = System.nanoTime() - start;
+      } finally {
+        // Stop the other workers too if one fails, before the scores they record into close.
+        pool.shutdownNow();
+      } // try/finally
+
+      pen.printf("Played %d games in %.1f ms on %d threads (%.0f games/s) using %s\n", games,
+          elapsed / 1e6, threads, games / (elapsed / 1e9), strategy);
+      pen.println("Guesses\tGames");
+      for (int i = 1; i <= opts.getGuesses(); i++) {
+        pen.printf("%d\t%d\n", i, totals[i]);
+      } // for
+      pen.printf("Lost\t%d\n", totals[0]);
+      pen.printf("Invalid\t%d\n", totals[totals.length - 1]);
+    } // try
+    pen.close();
+  } // main(String[])
+
+  /**
+   * Create a strategy by name.
+   *
+   * @param name "solver" or "random".
+   * @param words The words the strategy's game uses.
+   * @param seed Seed for any randomness in the strategy.
+   * @return The strategy.
+   * @throws IllegalArgumentException if the name is not recognized.
+   */
+  static Strategy strategy(String name, Words words, long seed) {
+    switch (name) {
+      case "solver":
+        return new Solver(words);
+      case "random":
+        // Not the seed the game's words use, or it would guess every target at once
+        Random rng = new Random(~seed);
+        WordBank answers = words.answers();
+        return (game) -> answers.get(answers.pick(rng, game.getTarget().length()));
+      default:
+        throw new IllegalArgumentException("Unknown strategy: " + name);
+    } // switch
+  } // strategy(String, Words, long)
+
+  /**
+   * Play games one after another.
+   *
+   * @param game The game to play, reset before each round.
+   * @param player Chooses the guesses.
+   * @param count The number of games.
+   * @return Games lost at index 0, games won at the index of the guesses taken, and games
+   *     abandoned on an invalid guess at the last index.
+   */
+  static long[] play(GameLogic game, Strategy player, int count) {
+    long[] counts = new long[game.getGuessesLeft() + 2];
+    for (int i = 0; i < count; i++) {
+      game.reset();
+      GameState state = GameState.CONTINUE;
+      while (state == GameState.CONTINUE) {
+        String guess = player.guess(game);
+        state = (guess == null) ? GameState.REDO : game.registerGuess(guess);
+      } // while
+      switch (state) {
+        case WIN:
+          counts[game.getGuessesMade()]++;
+          break;
+        case LOSE:
+          counts[0]++;
+          break;
+        default:
+          counts[counts.length - 1]++;
+          break;
+      } // switch
+    } // for
+    return counts;
+  } // play(GameLogic, Strategy, int)
+} // class Simulation
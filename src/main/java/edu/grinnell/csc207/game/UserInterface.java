@@ -4,10 +4,14 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.util.List;
 import java.util.Optional;
 
+import edu.grinnell.csc207.util.game.Dictionary;
 import edu.grinnell.csc207.util.game.GameLogic;
 import edu.grinnell.csc207.util.game.GameOptions;
+import edu.grinnell.csc207.util.game.Scores;
+import edu.grinnell.csc207.util.game.Words;
 
 /**
  * Handles all input and output from the user.
@@ -96,6 +100,7 @@ public class UserInterface {
     String choice;
     boolean shouldRun = true;
     game = new GameLogic(UserInterface.opts);
+    UserInterface.reportProblems(pen);
 
     while (shouldRun) {
       pen.printf(UserInterface.OPTIONS);
@@ -110,7 +115,7 @@ public class UserInterface {
         case "2":
           // See stats
           pen.println("Scores (Guesses, Frequency):");
-          pen.printf(game.getScores().toString());
+          game.getScores().write(pen);
           break;
         case "3":
           // Instructions
@@ -118,7 +123,7 @@ public class UserInterface {
           break;
         case "4":
           // Quit
-          game.getScores().save();
+          game.getScores().close();
           pen.println("Thanks for playing WORDLE!");
           shouldRun = false;
           break;
@@ -132,6 +137,14 @@ public class UserInterface {
             builder.setChecklist(eyes.readLine());
             pen.printf("Enter save file (or empty if unchanged): ");
             builder.setSavefile(eyes.readLine());
+            pen.printf("Enter save format, text or binary (or empty if unchanged): ");
+            builder.setScoreFormat(eyes.readLine());
+            pen.printf("Enter pattern table file (or empty if none): ");
+            builder.setPatternTable(eyes.readLine());
+            pen.printf("Enter word trie file (or empty if none): ");
+            builder.setWordTrie(eyes.readLine());
+            pen.printf("Enter compiled dictionary file (or empty if none): ");
+            builder.setDictionaryFile(eyes.readLine());
             pen.printf("Enter seed (or empty if random; only scores random): ");
             String seed = eyes.readLine();
             builder.setSeed(seed.isEmpty() ? Optional.empty() : Optional.of(Long.valueOf(seed)));
@@ -140,9 +153,25 @@ public class UserInterface {
             if (!guesses.isEmpty()) {
               builder.setGuesses(Integer.parseInt(guesses));
             } // if
+            pen.printf("Enter word length (or empty if unchanged; 0 for any): ");
+            String length = eyes.readLine();
+            if (!length.isEmpty()) {
+              builder.setWordLength(Integer.parseInt(length));
+            } // if
+            pen.printf("Play hard mode, using every hint in later guesses? (y/N): ");
+            builder.setHardMode(eyes.readLine().trim().equalsIgnoreCase("y"));
+            Words words = new Words(builder);
+            Scores scores = game.getScores();
+            // Two Scores on one save file would each journal and snapshot over the other, so
+            // the old one is kept for the same file, and closed before opening another.
+            if (!UserInterface.sameScores(UserInterface.opts, builder)) {
+              scores.close();
+              scores = Scores.open(builder);
+            } // if
             UserInterface.opts = builder;
-            game = new GameLogic(UserInterface.opts);
-          } catch (IOException | NumberFormatException e) {
+            game = new GameLogic(UserInterface.opts, words, scores);
+            UserInterface.reportProblems(pen);
+          } catch (IOException | IllegalArgumentException e) {
             pen.println(e.getMessage());
             break;
           } // try/catch
@@ -157,6 +186,35 @@ public class UserInterface {
     eyes.close();
   } // main
 
+  /**
+   * Print any lines of the configured word files that were left out.
+   *
+   * @param pen Output
+   * @throws IOException if configured files are invalid.
+   */
+  private static void reportProblems(PrintWriter pen) throws IOException {
+    List<String> problems = Dictionary.get(UserInterface.opts).problems();
+    if (!problems.isEmpty()) {
+      pen.println("Some lines of the word lists were left out:");
+    } // if
+    for (String problem : problems) {
+      pen.println("  " + problem);
+    } // for
+  } // reportProblems(PrintWriter)
+
+  /**
+   * Determine if two configurations record wins in the same save file, the same way.
+   *
+   * @param before The old options.
+   * @param after The new options.
+   * @return true if the save file and its format are unchanged.
+   */
+  private static boolean sameScores(GameOptions before, GameOptions after) {
+    return before.getSavefile().toAbsolutePath().normalize()
+        .equals(after.getSavefile().toAbsolutePath().normalize())
+        && before.getScoreFormat() == after.getScoreFormat();
+  } // sameScores(GameOptions, GameOptions)
+
   /**
    * One iteration of the game.
    *
@@ -169,19 +227,20 @@ public class UserInterface {
 
     boolean shouldRun = true;
     while (shouldRun) {
-      pen.printf("%s\nYou have %d guesses left.\n Enter your guess: ", game, game.getGuessesLeft());
+      game.render(pen);
+      pen.printf("\nYou have %d guesses left.\n Enter your guess: ", game.getGuessesLeft());
 
       switch (game.registerGuess(eye.readLine())) {
         case REDO:
           pen.printf("Invalid input.\n");
           break;
         case WIN:
-          pen.print(game.toString());
+          game.render(pen);
           pen.printf("Congrats!\n");
           shouldRun = false;
           break;
         case LOSE:
-          pen.print(game.toString());
+          game.render(pen);
           pen.printf("The correct answer is: %s\n", game.getTarget());
           pen.printf("You lose!\n");
           shouldRun = false;
@@ -0,0 +1,230 @@
+package edu.grinnell.csc207.util.game;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The loaded word lists of a game: the answers, the index of valid guesses, and the optional
+ * pattern table and trie of valid guesses. The lists are read from the word files, or mapped
+ * from a {@link DictionaryFile} compiled from them if one is configured. A dictionary is
+ * immutable and safe to share between any number of games and threads; the random state for
+ * choosing targets lives in each game's {@link Words}.
+ *
+ * <p>Dictionaries are cached by the paths they were loaded from, so games configured with the
+ * same files share one copy. A cached dictionary is reloaded if either word file has been
+ * modified since it was loaded.
+ *
+ * @author Andrew Fargo
+ */
+public final class Dictionary {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** Every dictionary loaded so far, by the files it came from. */
+  private static final Map<Source, Dictionary> CACHE = new ConcurrentHashMap<>();
+
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The possible answers. */
+  private final WordBank answers;
+
+  /** The valid guesses, or null if only the trie holds them. */
+  private final WordSet guesses;
+
+  /** What was wrong with the word files, if anything. */
+  private final List<String> problems;
+
+  /** Precomputed feedback, or null if not configured. */
+  private final PatternTable patterns;
+
+  /** The valid guesses as a trie, or null if not configured. */
+  private final WordTrie trie;
+
+  /** Modification time of the wordlist when loaded, in milliseconds. */
+  private final long wordStamp;
+
+  /** Modification time of the checklist when loaded, in milliseconds. */
+  private final long checkStamp;
+
+  // +-------------+---------------------------------------------------
+  // | Constructor |
+  // +-------------+
+
+  /**
+   * Load a dictionary from its files.
+   *
+   * @param source The files.
+   * @throws IOException if any file cannot be read.
+   */
+  private Dictionary(Source source) throws IOException {
+    this.wordStamp = Dictionary.stamp(source.wordlist());
+    this.checkStamp = Dictionary.stamp(source.checklist());
+    if (source.compiled() != null) {
+      DictionaryFile file =
+          DictionaryFile.open(source.wordlist(), source.checklist(), source.compiled());
+      this.answers = file.answers();
+      this.guesses = file.guesses();
+      this.problems = file.problems();
+    } else {
+      WordLoader wordlist = WordLoader.load(source.wordlist());
+      WordLoader checklist = WordLoader.load(source.checklist());
+      this.answers = new WordBank(wordlist.words());
+      // A trie numbers the guesses itself, so the word set is only built without one.
+      this.guesses = (source.trie() == null) ? new WordSet(checklist.words()) : null;
+      this.problems = WordLoader.problems(wordlist, checklist);
+    } // if/else
+    this.patterns = (source.patterns() == null)
+        ? null
+        : PatternTable.open(source.wordlist(), source.checklist(), source.patterns());
+    this.trie = (source.trie() == null)
+        ? null
+        : WordTrie.open(source.checklist(), source.trie());
+  } // Dictionary(Source)
+
+  // +----------------+---------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Get the dictionary for a game's options, loading it only if no current copy is cached.
+   *
+   * @param options The options naming the files.
+   * @return The shared dictionary.
+   * @throws IOException if any file cannot be read.
+   */
+  public static Dictionary get(GameOptions options) throws IOException {
+    Source source = new Source(options.getWordlist().toAbsolutePath().normalize(),
+        options.getChecklist().toAbsolutePath().normalize(),
+        Dictionary.normalize(options.getPatternTable()),
+        Dictionary.normalize(options.getWordTrie()),
+        Dictionary.normalize(options.getDictionaryFile()));
+    try {
+      return CACHE.compute(source, (key, cached) -> {
+        try {
+          return (cached != null && cached.isCurrent(key)) ? cached : new Dictionary(key);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        } // try/catch
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } // try/catch
+  } // get(GameOptions)
+
+  /**
+   * Forget every cached dictionary. Games already holding one keep it.
+   */
+  public static void clear() {
+    CACHE.clear();
+  } // clear()
+
+  /**
+   * Make an optional path absolute.
+   *
+   * @param path The path, or empty.
+   * @return The absolute path, or null if empty.
+   */
+  private static Path normalize(Optional<Path> path) {
+    return path.isPresent() ? path.get().toAbsolutePath().normalize() : null;
+  } // normalize(Optional<Path>)
+
+  /**
+   * Get the modification time of a file.
+   *
+   * @param path The file.
+   * @return Its modification time, in milliseconds.
+   * @throws IOException if the file cannot be read.
+   */
+  private static long stamp(Path path) throws IOException {
+    return Files.getLastModifiedTime(path).toMillis();
+  } // stamp(Path)
+
+  // +---------+---------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Determine if the files have not changed since this dictionary was loaded.
+   *
+   * @param source The files.
+   * @return true if both word files have their old modification times.
+   * @throws IOException if either file cannot be read.
+   */
+  private boolean isCurrent(Source source) throws IOException {
+    return this.wordStamp == Dictionary.stamp(source.wordlist())
+        && this.checkStamp == Dictionary.stamp(source.checklist());
+  } // isCurrent(Source)
+
+  /**
+   * Get the possible answers.
+   *
+   * @return The wordlist.
+   */
+  public WordBank answers() {
+    return this.answers;
+  } // answers()
+
+  /**
+   * Get the valid guesses. Without a compiled dictionary file, a configured trie stands in for
+   * them, so callers should ask {@link #trie()} first, as {@link Words} does.
+   *
+   * @return The checklist index, or null if only the trie holds the guesses.
+   */
+  public WordSet guesses() {
+    return this.guesses;
+  } // guesses()
+
+  /**
+   * Get the valid guesses as a trie.
+   *
+   * @return The trie, or null if not configured.
+   */
+  public WordTrie trie() {
+    return this.trie;
+  } // trie()
+
+  /**
+   * Get what was wrong with the word files: bad or repeated lines, which were left out, with a
+   * summary of each file that had more than {@link WordLoader#MAX_PROBLEMS} of them.
+   *
+   * @return The problems, or an empty list if the files were clean.
+   */
+  public List<String> problems() {
+    return this.problems;
+  } // problems()
+
+  /**
+   * Get the precomputed feedback.
+   *
+   * @return The pattern table, or null if not configured.
+   */
+  public PatternTable patterns() {
+    return this.patterns;
+  } // patterns()
+
+  // +---------------+-----------------------------------------------
+  // | Inner classes |
+  // +---------------+
+
+  /**
+   * The files a dictionary is loaded from.
+   *
+   * @param wordlist The answers.
+   * @param checklist The valid guesses.
+   * @param patterns The pattern table, or null.
+   * @param trie The trie of valid guesses, or null.
+   * @param compiled The precompiled dictionary file, or null.
+   */
+  private record Source(Path wordlist, Path checklist, Path patterns, Path trie,
+      Path compiled) {
+  } // record Source
+} // class Dictionary
@@ -0,0 +1,367 @@
+package edu.grinnell.csc207.util.game;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A precompiled, binary form of a pair of word files, opened by memory-mapping it so that nothing
+ * is parsed at startup and every process on a host shares the one copy in the page cache.
+ *
+ * <p>The file is a header followed by fixed-width sections, all big-endian:
+ *
+ * <ul>
+ *   <li>The header: a magic number, the checksums of the wordlist and checklist, the numbers of
+ *       answers, guesses, and hash slots, and where the answers of each length begin in the
+ *       positions-by-length section.</li>
+ *   <li>The answers, packed as by {@link WordSet#pack(CharSequence)}, eight bytes each, in list
+ *       order.</li>
+ *   <li>The positions of the answers grouped by length, four bytes each.</li>
+ *   <li>The guesses, packed, in list order.</li>
+ *   <li>The guesses sorted by packed code, as {@link #RECORD}-byte records of the code and the
+ *       guess's position.</li>
+ *   <li>Optionally, a hash index: open-addressed slots of one more than a record's number, or 0
+ *       if empty. Without it, guesses are found by binary search.</li>
+ * </ul>
+ *
+ * <p>Positions are those of {@link WordLoader}, as everywhere else, so pattern tables and
+ * snapshots work the same with or without a dictionary file. Only words of up to
+ * {@link WordSet#MAX_PACKED} letters can be stored.
+ *
+ * @author Andrew Fargo
+ */
+public final class DictionaryFile {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** Size of each sorted record: the packed word and its position. */
+  static final int RECORD = Long.BYTES + Integer.BYTES;
+
+  /** Identifies dictionary files ("WDB1"). */
+  private static final int MAGIC = 0x57444231;
+
+  /** The number of lengths whose answers are grouped, from 0. */
+  private static final int LENGTHS = WordSet.MAX_PACKED + 1;
+
+  /** Size of the header: magic, two checksums, three counts, and the start of each length. */
+  private static final int HEADER = 4 + 8 + 8 + 4 + 4 + 4 + 4 * (LENGTHS + 1);
+
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The answers. */
+  private final WordBank answers;
+
+  /** The guesses. */
+  private final WordSet guesses;
+
+  /** The size of the file, in bytes. */
+  private final int bytes;
+
+  /** What was wrong with the word files, if the dictionary was just compiled from them. */
+  private final List<String> problems;
+
+  // +-------------+---------------------------------------------------
+  // | Constructor |
+  // +-------------+
+
+  /**
+   * Wrap a buffer holding a complete dictionary file.
+   *
+   * @param buffer The header and sections.
+   * @param found What was wrong with the word files.
+   */
+  private DictionaryFile(ByteBuffer buffer, List<String> found) {
+    int answerCount = buffer.getInt(20);
+    int guessCount = buffer.getInt(24);
+    int slots = buffer.getInt(28);
+    int[] starts = new int[LENGTHS + 1];
+    for (int len = 0; len <= LENGTHS; len++) {
+      starts[len] = buffer.getInt(32 + 4 * len);
+    } // for
+
+    int at = HEADER;
+    LongBuffer answerCodes = buffer.slice(at, Long.BYTES * answerCount).asLongBuffer();
+    at += Long.BYTES * answerCount;
+    IntBuffer byLength = buffer.slice(at, Integer.BYTES * answerCount).asIntBuffer();
+    at += Integer.BYTES * answerCount;
+    LongBuffer guessCodes = buffer.slice(at, Long.BYTES * guessCount).asLongBuffer();
+    at += Long.BYTES * guessCount;
+    ByteBuffer records = buffer.slice(at, RECORD * guessCount);
+    at += RECORD * guessCount;
+    IntBuffer index = (slots == 0)
+        ? null
+        : buffer.slice(at, Integer.BYTES * slots).asIntBuffer();
+
+    this.answers = new WordBank(answerCodes, byLength, starts);
+    this.guesses = new WordSet(guessCodes, records, index);
+    this.bytes = buffer.capacity();
+    this.problems = found;
+  } // DictionaryFile(ByteBuffer, List<String>)
+
+  // +----------------+---------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Open the dictionary file for a pair of word files, compiling and saving it, with a hash
+   * index, if the file is missing or stale.
+   *
+   * @param wordlist The answers.
+   * @param checklist The valid guesses.
+   * @param file Where the dictionary is stored.
+   * @return The dictionary.
+   * @throws IOException if any of the files cannot be read or the dictionary cannot be written.
+   * @throws IllegalArgumentException if a word is too long to store.
+   */
+  public static DictionaryFile open(Path wordlist, Path checklist, Path file)
+      throws IOException {
+    long wordSum = PatternTable.checksum(wordlist);
+    long checkSum = PatternTable.checksum(checklist);
+    List<String> found = List.of();
+    if (!DictionaryFile.isCurrent(file, wordSum, checkSum)) {
+      found = DictionaryFile.compile(wordlist, checklist, file, true);
+    } // if
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new DictionaryFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()),
+          found);
+    } // try
+  } // open(Path, Path, Path)
+
+  /**
+   * Compile a pair of word files and save the result, replacing the file atomically.
+   *
+   * @param wordlist The answers.
+   * @param checklist The valid guesses.
+   * @param file Where to save the dictionary.
+   * @param hashed Whether to include a hash index.
+   * @return What was wrong with the word files.
+   * @throws IOException if any of the files cannot be read or the dictionary cannot be written.
+   * @throws IllegalArgumentException if a word is too long to store.
+   */
+  public static List<String> compile(Path wordlist, Path checklist, Path file, boolean hashed)
+      throws IOException {
+    long wordSum = PatternTable.checksum(wordlist);
+    long checkSum = PatternTable.checksum(checklist);
+    WordLoader answerList = WordLoader.load(wordlist);
+    WordLoader guessList = WordLoader.load(checklist);
+    String[] answerWords = answerList.words();
+    long[] answerCodes = DictionaryFile.pack(answerWords);
+    long[] guessCodes = DictionaryFile.pack(guessList.words());
+    int slots = hashed ? Integer.highestOneBit(Math.max(guessCodes.length, 1) * 2 - 1) << 1 : 0;
+    int size = DictionaryFile.size(answerCodes.length, guessCodes.length, slots);
+
+    Path tmp = PatternTable.tempFile(file);
+    try {
+      try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ,
+          StandardOpenOption.WRITE)) {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        DictionaryFile.fill(buffer, new WordBank(answerWords), answerCodes, guessCodes, slots);
+        buffer.putLong(4, wordSum);
+        buffer.putLong(12, checkSum);
+        buffer.force();
+      } // try
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    } // try/finally
+    return WordLoader.problems(answerList, guessList);
+  } // compile(Path, Path, Path, boolean)
+
+  /**
+   * Compile word files offline, ahead of the first game that uses them.
+   *
+   * @param args The wordlist, the checklist, where to save the dictionary, and optionally
+   *     "--no-hash" to leave out the hash index.
+   * @throws IOException if any of the files cannot be read or the dictionary cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    if (args.length < 3 || args.length > 4 || (args.length == 4 && !"--no-hash".equals(args[3]))) {
+      pen.println("Usage: DictionaryFile wordlist checklist dictfile [--no-hash]");
+      return;
+    } // if
+    Path file = Path.of(args[2]);
+    for (String problem : DictionaryFile.compile(Path.of(args[0]), Path.of(args[1]), file,
+        args.length == 3)) {
+      pen.println(problem);
+    } // for
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      DictionaryFile dictionary = new DictionaryFile(
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), List.of());
+      pen.println(args[2] + ": " + dictionary);
+    } // try
+  } // main(String[])
+
+  /**
+   * Determine the size of a dictionary file.
+   *
+   * @param answerCount The number of answers.
+   * @param guessCount The number of guesses.
+   * @param slots The number of hash slots.
+   * @return The size in bytes.
+   * @throws IllegalArgumentException if the file would not fit in one buffer.
+   */
+  private static int size(int answerCount, int guessCount, int slots) {
+    long size = HEADER + (long) (Long.BYTES + Integer.BYTES) * answerCount
+        + (long) (Long.BYTES + RECORD) * guessCount + (long) Integer.BYTES * slots;
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Dictionary too large: " + answerCount + " answers, "
+          + guessCount + " guesses");
+    } // if
+    return (int) size;
+  } // size(int, int, int)
+
+  /**
+   * Pack every word of a list.
+   *
+   * @param words The words.
+   * @return Their codes.
+   * @throws IllegalArgumentException if a word cannot be packed.
+   */
+  private static long[] pack(String[] words) {
+    long[] codes = new long[words.length];
+    for (int i = 0; i < words.length; i++) {
+      codes[i] = WordSet.pack(words[i]);
+      if (codes[i] == WordSet.UNPACKABLE) {
+        throw new IllegalArgumentException("Too long for a dictionary file: " + words[i]);
+      } // if
+    } // for
+    return codes;
+  } // pack(String[])
+
+  /**
+   * Write everything but the checksums into a buffer.
+   *
+   * @param buffer The buffer, exactly large enough.
+   * @param bank The answers.
+   * @param answerCodes The packed answers, in list order.
+   * @param guessCodes The packed guesses, in list order, without duplicates.
+   * @param slots The number of hash slots, a power of two at least twice the guesses, or 0.
+   */
+  private static void fill(ByteBuffer buffer, WordBank bank, long[] answerCodes,
+      long[] guessCodes, int slots) {
+    buffer.putInt(0, MAGIC);
+    buffer.putInt(20, answerCodes.length);
+    buffer.putInt(24, guessCodes.length);
+    buffer.putInt(28, slots);
+    int[] starts = bank.lengthStarts(LENGTHS);
+    for (int len = 0; len <= LENGTHS; len++) {
+      buffer.putInt(32 + 4 * len, starts[len]);
+    } // for
+
+    int at = HEADER;
+    buffer.slice(at, Long.BYTES * answerCodes.length).asLongBuffer().put(answerCodes);
+    at += Long.BYTES * answerCodes.length;
+    buffer.slice(at, Integer.BYTES * answerCodes.length).asIntBuffer().put(bank.byLength());
+    at += Integer.BYTES * answerCodes.length;
+    buffer.slice(at, Long.BYTES * guessCodes.length).asLongBuffer().put(guessCodes);
+    at += Long.BYTES * guessCodes.length;
+
+    int[] order = IntStream.range(0, guessCodes.length).boxed()
+        .sorted((a, b) -> Long.compare(guessCodes[a], guessCodes[b]))
+        .mapToInt(Integer::intValue).toArray();
+    for (int record = 0; record < order.length; record++) {
+      buffer.putLong(at + RECORD * record, guessCodes[order[record]]);
+      buffer.putInt(at + RECORD * record + Long.BYTES, order[record]);
+    } // for
+    at += RECORD * guessCodes.length;
+
+    if (slots > 0) {
+      IntBuffer index = buffer.slice(at, Integer.BYTES * slots).asIntBuffer();
+      int[] entries = new int[slots];
+      for (int record = 0; record < order.length; record++) {
+        int slot = WordSet.hash(guessCodes[order[record]]) & (slots - 1);
+        while (entries[slot] != 0) {
+          slot = (slot + 1) & (slots - 1);
+        } // while
+        entries[slot] = record + 1;
+      } // for
+      index.put(entries);
+    } // if
+  } // fill(ByteBuffer, WordBank, long[], long[], int)
+
+  /**
+   * Determine if a dictionary file was compiled from files with the given checksums.
+   *
+   * @param file The dictionary file.
+   * @param wordSum The checksum of the wordlist.
+   * @param checkSum The checksum of the checklist.
+   * @return true if the file exists and matches.
+   * @throws IOException if the file exists but cannot be read.
+   */
+  private static boolean isCurrent(Path file, long wordSum, long checkSum) throws IOException {
+    if (!Files.isReadable(file)) {
+      return false;
+    } // if
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER);
+      int read = 0;
+      while (header.hasRemaining() && read >= 0) {
+        read = channel.read(header);
+      } // while
+      if (header.hasRemaining()) {
+        return false;
+      } // if
+      return header.getInt(0) == MAGIC && header.getLong(4) == wordSum
+          && header.getLong(12) == checkSum
+          && channel.size() == DictionaryFile.size(header.getInt(20), header.getInt(24),
+              header.getInt(28));
+    } // try
+  } // isCurrent(Path, long, long)
+
+  // +---------+---------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Get the possible answers.
+   *
+   * @return The answers, backed by the mapped file.
+   */
+  public WordBank answers() {
+    return this.answers;
+  } // answers()
+
+  /**
+   * Get the valid guesses.
+   *
+   * @return The guesses, backed by the mapped file.
+   */
+  public WordSet guesses() {
+    return this.guesses;
+  } // guesses()
+
+  /**
+   * Get what was wrong with the word files, if the dictionary was just compiled from them.
+   *
+   * @return The problems, or an empty list if the files were clean or were not read.
+   */
+  public List<String> problems() {
+    return this.problems;
+  } // problems()
+
+  /**
+   * Summarize the dictionary.
+   *
+   * @return A short description.
+   */
+  @Override
+  public String toString() {
+    return "DictionaryFile[answers=" + this.answers.size() + ", guesses=" + this.guesses
+        + ", bytes=" + this.bytes + "]";
+  } // toString()
+} // class DictionaryFile
@@ -0,0 +1,164 @@
+package edu.grinnell.csc207.util.game;
+
+/**
+ * Scores guesses against targets. The feedback for a whole guess is packed into a single int,
+ * one base-3 digit per letter with the first letter in the least significant digit, so scoring
+ * allocates nothing. Colors are only produced when a pattern is rendered for display.
+ *
+ * @author Khanh Do
+ * @author Andrew Fargo
+ */
+public class Feedback {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The letter is not in the target (or all its copies are accounted for). */
+  public static final int GRAY = 0;
+
+  /** The letter is in the target, but elsewhere. */
+  public static final int YELLOW = 1;
+
+  /** The letter is in the right place. */
+  public static final int GREEN = 2;
+
+  /** The longest word that can be scored; 3^19 still fits in an int. */
+  public static final int MAX_LENGTH = 19;
+
+  /**
+   * The ANSI code for the color white.
+   */
+  static final String ANSI_RESET = "\u001B[0m";
+
+  /**
+   * The ANSI code for the color green.
+   */
+  static final String ANSI_GREEN = "\u001B[32m";
+
+  /**
+   * The ANSI code for the color yellow.
+   */
+  static final String ANSI_YELLOW = "\u001B[33m";
+
+  /** Powers of three, indexed by letter position. */
+  private static final int[] POW3 = new int[MAX_LENGTH + 1];
+
+  static {
+    POW3[0] = 1;
+    for (int i = 1; i < POW3.length; i++) {
+      POW3[i] = POW3[i - 1] * 3;
+    } // for
+  } // static
+
+  // +----------------+---------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Score a guess against a target, ignoring case. Each letter of the target can only be matched
+   * once: exact matches are consumed first, then remaining letters match left to right.
+   *
+   * E.g. if the target is `plead` and the guess is `apple`, only one `p` lights up.
+   *
+   * @param guess The guessed word.
+   * @param target The target word, of the same length.
+   * @return The packed pattern.
+   */
+  public static int score(CharSequence guess, CharSequence target) {
+    int len = target.length();
+    int pattern = 0;
+    // Bit i is set once target letter i has been matched.
+    int used = 0;
+
+    for (int i = 0; i < len; i++) {
+      if (Feedback.same(guess.charAt(i), target.charAt(i))) {
+        pattern += GREEN * POW3[i];
+        used |= 1 << i;
+      } // if
+    } // for
+    int greens = used;
+    for (int i = 0; i < len; i++) {
+      if ((greens & (1 << i)) == 0) {
+        char letter = guess.charAt(i);
+        for (int j = 0; j < len; j++) {
+          if ((used & (1 << j)) == 0 && Feedback.same(letter, target.charAt(j))) {
+            pattern += YELLOW * POW3[i];
+            used |= 1 << j;
+            break;
+          } // if
+        } // for
+      } // if
+    } // for
+    return pattern;
+  } // score(CharSequence, CharSequence)
+
+  /**
+   * Compare two letters, ignoring case.
+   *
+   * @param a One letter.
+   * @param b The other.
+   * @return true if they are the same letter.
+   */
+  private static boolean same(char a, char b) {
+    if (a == b) {
+      return true;
+    } else if (a < 0x80 && b < 0x80) {
+      // ASCII letters differ from their other case only in bit 0x20
+      return (a ^ b) == 0x20 && Character.isLetter(a);
+    } else {
+      return Character.toUpperCase(a) == Character.toUpperCase(b);
+    } // if/else
+  } // same(char, char)
+
+  /**
+   * Extract the mark for one letter of a pattern.
+   *
+   * @param pattern The packed pattern.
+   * @param position The letter's position.
+   * @return {@link #GRAY}, {@link #YELLOW} or {@link #GREEN}.
+   */
+  public static int mark(int pattern, int position) {
+    return (pattern / POW3[position]) % 3;
+  } // mark(int, int)
+
+  /**
+   * The pattern produced by guessing the target exactly.
+   *
+   * @param length The length of the words.
+   * @return The all-green pattern.
+   */
+  public static int solved(int length) {
+    return POW3[length] - 1;
+  } // solved(int)
+
+  /**
+   * The number of distinct patterns for words of a given length.
+   *
+   * @param length The length of the words.
+   * @return 3 to the power of length.
+   */
+  public static int patterns(int length) {
+    return POW3[length];
+  } // patterns(int)
+
+  /**
+   * Append a single letter, colored according to its mark.
+   *
+   * @param sb Where to write.
+   * @param letter The letter.
+   * @param mark Its mark.
+   */
+  public static void render(StringBuilder sb, char letter, int mark) {
+    switch (mark) {
+      case GREEN:
+        sb.append(ANSI_GREEN).append(letter).append(ANSI_RESET);
+        break;
+      case YELLOW:
+        sb.append(ANSI_YELLOW).append(letter).append(ANSI_RESET);
+        break;
+      default:
+        sb.append(letter);
+        break;
+    } // switch
+  } // render(StringBuilder, char, int)
+} // class Feedback
@@ -1,9 +1,13 @@
 package edu.grinnell.csc207.util.game;
 
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
-import edu.grinnell.csc207.util.matrix.Matrix;
-import edu.grinnell.csc207.util.matrix.MatrixV0;
+import edu.grinnell.csc207.util.matrix.ByteMatrix;
+import edu.grinnell.csc207.util.matrix.CharMatrix;
 
 /**
  * Core game logic for the game of Wordle.
@@ -31,28 +35,40 @@ public class GameLogic {
   } // enum GameState
 
   /**
-   * The ANSI code for the color white.
+   * Version of the format written by {@link #snapshot()}.
    */
-  static final String ANSI_RESET = "\u001B[0m";
+  static final int SNAPSHOT_VERSION = 1;
+
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
 
   /**
-   * The ANSI code for the color green.
+   * The letters guessed so far, one row per guess.
    */
-  static final String ANSI_GREEN = "\u001B[32m";
+  private CharMatrix board;
 
   /**
-   * The ANSI code for the color yellow.
+   * The feedback mark for each letter on the board; rows not yet guessed are gray.
+   *
+   * @see Feedback
    */
-  static final String ANSI_YELLOW = "\u001B[33m";
+  private ByteMatrix marks;
 
-  // +--------+---------------------------------------------------
-  // | Fields |
-  // +--------+
+  /**
+   * The checklist index of each guess on the board.
+   */
+  private int[] guessIndices;
 
   /**
-   * The current state of the board.
+   * Each row of the board, rendered when it was last changed.
    */
-  private Matrix<String> board;
+  private String[] rendered;
+
+  /**
+   * The line drawn between rows of the board.
+   */
+  private String separator;
 
   /**
    * Handles generation and validation of words.
@@ -69,16 +85,36 @@ public class GameLogic {
    */
   private int guessesMade;
 
+  /**
+   * Whether the last guess was the target.
+   */
+  private boolean solved;
+
   /**
    * Current target word.
    */
   private String target;
 
+  /**
+   * Index of the target word in the wordlist.
+   */
+  private int targetIndex;
+
   /**
    * Keeps track of current wins.
    */
   private final Scores scores;
 
+  /**
+   * What the feedback so far reveals about the target, for hard mode.
+   */
+  private Knowledge knowledge;
+
+  /**
+   * The player whose wins are recorded, or null if anonymous.
+   */
+  private String player;
+
   // +-------------+---------------------------------------------------
   // | Constructor |
   // +-------------+
@@ -89,11 +125,22 @@ public class GameLogic {
    * @param options The options used.
    */
   public GameLogic(GameOptions options) throws IOException {
-    this.words = new Words(options);
+    this(options, new Words(options), Scores.open(options));
+  } // GameLogic()
+
+  /**
+   * Create a new game from words and scores that have already been loaded.
+   *
+   * @param options The options used.
+   * @param gameWords The words to choose targets from and validate guesses against.
+   * @param gameScores Where wins are recorded.
+   */
+  public GameLogic(GameOptions options, Words gameWords, Scores gameScores) {
+    this.words = gameWords;
     this.opts = options;
-    this.scores = new Scores(this.opts.getSavefile());
+    this.scores = gameScores;
     reset();
-  } // GameLogic()
+  } // GameLogic(GameOptions, Words, Scores)
 
   // +---------+---------------------------------------------------
   // | Methods |
@@ -103,90 +150,233 @@ public class GameLogic {
    * Reset and select a new word.
    */
   public final void reset() {
-    this.guessesMade = 0;
-    this.target = (words.next()).toUpperCase();
-    this.board = new MatrixV0<>(this.target.length(), this.opts.getGuesses(), " ");
+    this.start(words.nextIndex());
   } // reset()
 
   /**
-   * Represents the game board as a string.
+   * Start a new game with an empty board.
+   *
+   * @param answer The index of the target in the wordlist.
    */
-  @Override
-  public String toString() {
-    StringBuilder sb = new StringBuilder();
-    String horizontalLine = "+---".repeat(this.target.length()) + "+\n";
+  private void start(int answer) {
+    this.guessesMade = 0;
+    this.solved = false;
+    this.targetIndex = answer;
+    this.target = words.answer(this.targetIndex);
+    this.guessIndices = new int[this.opts.getGuesses()];
+    this.knowledge = new Knowledge(this.target.length());
+    this.board = new CharMatrix(this.target.length(), this.opts.getGuesses(), ' ');
+    this.marks = new ByteMatrix(this.target.length(), this.opts.getGuesses(),
+        (byte) Feedback.GRAY);
+    this.separator = "+---".repeat(this.target.length()) + "+\n";
+    this.rendered = new String[this.opts.getGuesses()];
+    Arrays.fill(this.rendered, "|   ".repeat(this.target.length()) + "|\n");
+  } // start(int)
 
-    for (int row = 0; row < this.opts.getGuesses(); row++) {
-      sb.append(horizontalLine);
-      for (int col = 0; col < this.target.length(); col++) {
-        sb.append("| ").append(board.get(row, col)).append(" ");
-      } // for
-      sb.append("|\n");
+  /**
+   * Fill in the next row of the board.
+   *
+   * @param guess The guess.
+   * @param guessIndex Its index in the checklist.
+   * @param pattern Its feedback.
+   */
+  private void fill(String guess, int guessIndex, int pattern) {
+    for (int i = 0; i < guess.length(); i++) {
+      board.setChar(this.guessesMade, i, Character.toUpperCase(guess.charAt(i)));
+      marks.setByte(this.guessesMade, i, (byte) Feedback.mark(pattern, i));
     } // for
-    sb.append(horizontalLine);
+    this.guessIndices[this.guessesMade] = guessIndex;
+    this.knowledge.update(guess, pattern);
+    this.rendered[this.guessesMade] = this.renderRow(this.guessesMade);
+    this.guessesMade++;
+    this.solved = (pattern == Feedback.solved(guess.length()));
+  } // fill(String, int, int)
 
-    return sb.toString();
-  } // toString()
+  /**
+   * Score a guess against the target.
+   *
+   * @param guess The guess.
+   * @param guessIndex Its index in the checklist.
+   * @return Its feedback.
+   */
+  private int score(String guess, int guessIndex) {
+    int pattern = words.lookup(this.targetIndex, guessIndex);
+    return (pattern == PatternTable.NONE) ? Feedback.score(guess, this.target) : pattern;
+  } // score(String, int)
 
   /**
-   * Formats a single guess, coloring the letters appropriately.
+   * Save the game in progress in a few bytes: a version, then the index of the target, the
+   * number of guesses, and the index of each guess in the checklist, as varints. The feedback is
+   * not saved, since it follows from the guesses. With the shipped word lists a game of three
+   * guesses takes at most 10 bytes.
    *
-   * @param guess The guessed word
-   * @return A string of the guessed words characters outfixed with ANSI codes
+   * <p>The snapshot refers to words by index, so it can only be restored by a game with the same
+   * word lists. It names the target, so it is no secret from whoever holds it.
+   *
+   * @return The snapshot.
    */
-  private String[] formatGuess(String guess) {
-    char[] guessArray = guess.toUpperCase().toCharArray();
-    char[] targetArray = this.target.toCharArray();
-    String[] formatArray = new String[target.length()];
-    // Perform three passes, first checking for exact matches,
-    // then checking for slight matches, then filling the rest.
-    // Blocks out each letter as it is consumed, avoiding duplicate matches.
-    //
-    // E.g. if the target is `plead` and the guess is `apple`
-    // Only one `p` lights up.
+  public byte[] snapshot() {
+    ByteBuffer out = ByteBuffer.allocate(1 + Varints.MAX_INT * (2 + this.guessesMade));
+    this.snapshot(out);
+    return Arrays.copyOf(out.array(), out.position());
+  } // snapshot()
 
-    for (int i = 0; i < targetArray.length; i++) {
-      if (targetArray[i] == guessArray[i]) {
-        formatArray[i] = ANSI_GREEN + guessArray[i] + ANSI_RESET;
-        guessArray[i] = '#';
-      } // if
+  /**
+   * Save the game in progress, as {@link #snapshot()} does, into a buffer.
+   *
+   * @param out Where to write.
+   * @throws java.nio.BufferOverflowException if the buffer is too small.
+   */
+  public void snapshot(ByteBuffer out) {
+    out.put((byte) SNAPSHOT_VERSION);
+    Varints.put(out, this.targetIndex);
+    Varints.put(out, this.guessesMade);
+    for (int row = 0; row < this.guessesMade; row++) {
+      Varints.put(out, this.guessIndices[row]);
     } // for
-    for (int i = 0; i < targetArray.length; i++) {
-      if (target.indexOf(guessArray[i]) != -1) {
-        formatArray[i] = ANSI_YELLOW + guessArray[i] + ANSI_RESET;
-        guessArray[i] = '#';
+  } // snapshot(ByteBuffer)
+
+  /**
+   * Replace the current game with one saved by {@link #snapshot()}.
+   *
+   * @param data The snapshot.
+   * @throws IllegalArgumentException if the snapshot is malformed, is not of a game in progress,
+   *     or does not fit these word lists or this number of guesses; the current game is then
+   *     unchanged.
+   */
+  public void restore(byte[] data) {
+    this.restore(ByteBuffer.wrap(data));
+  } // restore(byte[])
+
+  /**
+   * Replace the current game with one saved by {@link #snapshot(ByteBuffer)}.
+   *
+   * @param in Where to read.
+   * @throws IllegalArgumentException if the snapshot is malformed, is not of a game in progress,
+   *     or does not fit these word lists or this number of guesses; the current game is then
+   *     unchanged.
+   */
+  public void restore(ByteBuffer in) {
+    int answer;
+    String[] guesses;
+    int[] indices;
+    try {
+      if (in.get() != SNAPSHOT_VERSION) {
+        throw new IllegalArgumentException("Unknown snapshot version");
       } // if
+      answer = GameLogic.index(Varints.get(in), this.words.answers().size());
+      String word = this.words.answer(answer);
+      int length = word.length();
+      // A game in progress has a guess left, and no guess yet has been the target.
+      int made = GameLogic.index(Varints.get(in), this.opts.getGuesses());
+      guesses = new String[made];
+      indices = new int[made];
+      for (int row = 0; row < made; row++) {
+        indices[row] = GameLogic.index(Varints.get(in), this.words.guessCount());
+        guesses[row] = this.words.guess(indices[row]);
+        if (guesses[row].equalsIgnoreCase(word)) {
+          throw new IllegalArgumentException("Snapshot game is already won");
+        } // if
+        if (guesses[row].length() != length) {
+          throw new IllegalArgumentException("Snapshot guess has the wrong length");
+        } // if
+      } // for
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Snapshot truncated");
+    } // try/catch
+
+    this.start(answer);
+    for (int row = 0; row < guesses.length; row++) {
+      this.fill(guesses[row], indices[row], this.score(guesses[row], indices[row]));
+    } // for
+  } // restore(ByteBuffer)
+
+  /**
+   * Check an index read from a snapshot.
+   *
+   * @param value The index.
+   * @param limit The number of valid indices.
+   * @return The index.
+   * @throws IllegalArgumentException if the index is not below the limit.
+   */
+  private static int index(long value, int limit) {
+    if (value < 0 || value >= limit) {
+      throw new IllegalArgumentException("Snapshot index out of range: " + value);
+    } // if
+    return (int) value;
+  } // index(long, int)
+
+  /**
+   * Render one row of the board, with each letter colored by its mark.
+   *
+   * @param row The row.
+   * @return The row, with its borders and a trailing newline.
+   */
+  private String renderRow(int row) {
+    StringBuilder sb = new StringBuilder(this.separator.length() * 4);
+    for (int col = 0; col < this.target.length(); col++) {
+      sb.append("| ");
+      Feedback.render(sb, board.getChar(row, col), marks.getByte(row, col));
+      sb.append(" ");
+    } // for
+    return sb.append("|\n").toString();
+  } // renderRow(int)
+
+  /**
+   * Write the game board. Each row is rendered once, when it is guessed, so writing the board
+   * allocates nothing.
+   *
+   * @param pen Where to write.
+   */
+  public void render(PrintWriter pen) {
+    for (String row : this.rendered) {
+      pen.write(this.separator);
+      pen.write(row);
     } // for
-    for (int i = 0; i < targetArray.length; i++) {
-      if (guessArray[i] != '#') {
-        formatArray[i] = String.valueOf(guessArray[i]);
-      } // if/else
+    pen.write(this.separator);
+  } // render(PrintWriter)
+
+  /**
+   * Represents the game board as a string.
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (String row : this.rendered) {
+      sb.append(this.separator).append(row);
     } // for
-    return formatArray;
-  } // formatGuess(String)
+    return sb.append(this.separator).toString();
+  } // toString()
 
   /**
-   * Register a guess into the board.
+   * Register a guess into the board. In hard mode, a guess that ignores a hint revealed so far
+   * is rejected like an unknown word, as is any guess once the game is over.
    *
    * @param guess User's input
    * @return Current game state.
    * @see edu.grinnell.csc207.util.game.GameState
    */
   public GameState registerGuess(String guess) {
-    if (!words.test(guess) || guess.length() != target.length()) {
+    if (this.isGameOver() || guess.length() != target.length()) {
+      return GameState.REDO;
+    } // if
+    int guessIndex = words.indexOf(guess);
+    if (guessIndex < 0) {
+      return GameState.REDO;
+    } // if
+    if (this.opts.getHardMode() && !this.knowledge.allows(guess)) {
       return GameState.REDO;
     } // if
 
-    String[] formatArray = formatGuess(guess);
-    for (int i = 0; i < guess.length(); i++) {
-      board.set(this.guessesMade, i, formatArray[i]);
-    } // for
-
-    this.guessesMade++;
+    this.fill(guess, guessIndex, this.score(guess, guessIndex));
 
-    if (guess.toUpperCase().equals(target)) {
+    if (this.solved) {
       if (this.opts.getValid()) {
-        scores.add(this.guessesMade);
+        if (this.player == null) {
+          scores.add(this.guessesMade);
+        } else {
+          scores.add(this.player, this.guessesMade);
+        } // if/else
       } // if
       return GameState.WIN;
     } else if (this.isGameOver()) {
@@ -199,10 +389,10 @@ public class GameLogic {
   /**
    * Check if the game is over.
    *
-   * @return Whether or not the game should finish.
+   * @return Whether the target has been guessed or no guesses are left.
    */
   public boolean isGameOver() {
-    return this.guessesMade == this.opts.getGuesses();
+    return this.solved || this.guessesMade == this.opts.getGuesses();
   } // isGameOver()
 
   /**
@@ -214,6 +404,51 @@ public class GameLogic {
     return this.opts.getGuesses() - this.guessesMade;
   } // getGuessesLeft()
 
+  /**
+   * Guesses made getter.
+   *
+   * @return The number of rows of the board filled in.
+   */
+  public int getGuessesMade() {
+    return this.guessesMade;
+  } // getGuessesMade()
+
+  /**
+   * Gets a guess from the board.
+   *
+   * @param row The row, less than the number of guesses made.
+   * @return The guessed word, in upper case.
+   * @throws IndexOutOfBoundsException if that guess has not been made.
+   */
+  public String getGuess(int row) {
+    if (row < 0 || row >= this.guessesMade) {
+      throw new IndexOutOfBoundsException("No guess in row " + row);
+    } // if
+    char[] letters = new char[this.board.width()];
+    for (int col = 0; col < letters.length; col++) {
+      letters[col] = this.board.getChar(row, col);
+    } // for
+    return new String(letters);
+  } // getGuess(int)
+
+  /**
+   * Gets the feedback for a guess on the board.
+   *
+   * @param row The row, less than the number of guesses made.
+   * @return The packed pattern, as from {@link Feedback#score(CharSequence, CharSequence)}.
+   * @throws IndexOutOfBoundsException if that guess has not been made.
+   */
+  public int getPattern(int row) {
+    if (row < 0 || row >= this.guessesMade) {
+      throw new IndexOutOfBoundsException("No guess in row " + row);
+    } // if
+    int pattern = 0;
+    for (int col = this.marks.width() - 1; col >= 0; col--) {
+      pattern = pattern * 3 + this.marks.getByte(row, col);
+    } // for
+    return pattern;
+  } // getPattern(int)
+
   /**
    * Scores getter.
    *
@@ -223,6 +458,24 @@ public class GameLogic {
     return this.scores;
   } // getScores()
 
+  /**
+   * Player getter.
+   *
+   * @return The player whose wins are recorded, or null if anonymous.
+   */
+  public String getPlayer() {
+    return this.player;
+  } // getPlayer()
+
+  /**
+   * Player setter. Wins from now on are also recorded under the player's name.
+   *
+   * @param name The player, or null to play anonymously.
+   */
+  public void setPlayer(String name) {
+    this.player = name;
+  } // setPlayer(String)
+
   /**
    * Target getter.
    *
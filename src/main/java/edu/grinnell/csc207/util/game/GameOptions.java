@@ -18,12 +18,24 @@ public class GameOptions {
   private Path checkfile;
   /** Path to the save file. */
   private Path savefile;
+  /** Path to the precomputed pattern table, or null if none is used. */
+  private Path patternfile;
+  /** Path to the trie of valid guesses, or null if none is used. */
+  private Path triefile;
+  /** Path to the compiled dictionary, or null if the word files are read directly. */
+  private Path dictfile;
+  /** How scores are written to the save file. */
+  private ScoreFormat scoreformat;
   /** Seed to use for randomization. */
   private long seed;
   /** Number of guesses allowed before game over. */
   private int guesses;
+  /** Length of the target words, or 0 for any length in the word list. */
+  private int wordLength;
   /** True if random seed is used, false if fixed seed. */
   private boolean shouldScore;
+  /** True if every guess must honor the hints revealed so far. */
+  private boolean hardMode;
 
   /**
    * Constructor for default values. Should use the setters for other values.
@@ -34,6 +46,7 @@ public class GameOptions {
     this.setWordlist("wordlist.txt");
     this.setChecklist("checklist.txt");
     this.setSavefile("savefile.txt");
+    this.setScoreFormat("text");
     this.setGuesses(6);
     this.setSeed(Optional.empty());
   } // GameOptions()
@@ -90,6 +103,60 @@ public class GameOptions {
     this.savefile = Path.of(path);
   } // setSavefile(String)
 
+  /**
+   * Sets how scores are written to the save file.
+   *
+   * @param name The format, "text" or "binary".
+   * @throws IllegalArgumentException if the format is not known.
+   */
+  public final void setScoreFormat(String name) {
+    if (name.isEmpty()) {
+      return;
+    } // if
+    this.scoreformat = ScoreFormat.valueOf(name.trim().toUpperCase());
+  } // setScoreFormat(String)
+
+  /**
+   * Sets the precomputed pattern table. The table is built the first time it is used and reused
+   * for as long as the word lists don't change.
+   *
+   * @param path Path to the table file.
+   */
+  public final void setPatternTable(String path) {
+    if (path.isEmpty()) {
+      return;
+    } // if
+    this.patternfile = Path.of(path);
+  } // setPatternTable(String)
+
+  /**
+   * Sets the trie of valid guesses, which then checks and numbers guesses in place of the index
+   * of valid guesses, and answers which words begin with a prefix. The trie is built the first
+   * time it is used and reused for as long as the checklist doesn't change.
+   *
+   * @param path Path to the trie file.
+   */
+  public final void setWordTrie(String path) {
+    if (path.isEmpty()) {
+      return;
+    } // if
+    this.triefile = Path.of(path);
+  } // setWordTrie(String)
+
+  /**
+   * Sets the compiled dictionary, which is memory-mapped in place of reading the word files. It
+   * is compiled the first time it is used and reused for as long as the word files don't
+   * change.
+   *
+   * @param path Path to the dictionary file.
+   */
+  public final void setDictionaryFile(String path) {
+    if (path.isEmpty()) {
+      return;
+    } // if
+    this.dictfile = Path.of(path);
+  } // setDictionaryFile(String)
+
   /**
    * Sets the number of guesses allowed.
    *
@@ -99,6 +166,28 @@ public class GameOptions {
     this.guesses = guessesProvided;
   } // setGuesses(int)
 
+  /**
+   * Sets the length of the target words.
+   *
+   * @param length The length, or 0 for any length in the word list.
+   * @throws IllegalArgumentException if the length is negative or too long to score.
+   */
+  public final void setWordLength(int length) {
+    if (length < 0 || length > Feedback.MAX_LENGTH) {
+      throw new IllegalArgumentException("Invalid word length: " + length);
+    } // if
+    this.wordLength = length;
+  } // setWordLength(int)
+
+  /**
+   * Sets hard mode, in which every guess must be a word that could still be the target.
+   *
+   * @param hard true for hard mode.
+   */
+  public final void setHardMode(boolean hard) {
+    this.hardMode = hard;
+  } // setHardMode(boolean)
+
   /**
    * Sets the seed, or generates a random seed if empty. Sets whether or not the game should be
    * scored, accordingly.
@@ -138,6 +227,42 @@ public class GameOptions {
     return this.savefile;
   } // getSavefile()
 
+  /**
+   * Accessor for the score format.
+   *
+   * @return How scores are written to the save file.
+   */
+  public ScoreFormat getScoreFormat() {
+    return this.scoreformat;
+  } // getScoreFormat()
+
+  /**
+   * Accessor for the pattern table.
+   *
+   * @return The pattern table path, or empty if patterns are computed per guess.
+   */
+  public Optional<Path> getPatternTable() {
+    return Optional.ofNullable(this.patternfile);
+  } // getPatternTable()
+
+  /**
+   * Accessor for the trie of valid guesses.
+   *
+   * @return The trie path, or empty if guesses are checked against the checklist index.
+   */
+  public Optional<Path> getWordTrie() {
+    return Optional.ofNullable(this.triefile);
+  } // getWordTrie()
+
+  /**
+   * Accessor for the compiled dictionary.
+   *
+   * @return The dictionary file path, or empty if the word files are read directly.
+   */
+  public Optional<Path> getDictionaryFile() {
+    return Optional.ofNullable(this.dictfile);
+  } // getDictionaryFile()
+
   /**
    * Accessor for the seed.
    *
@@ -156,6 +281,24 @@ public class GameOptions {
     return this.guesses;
   } // getGuesses
 
+  /**
+   * Accessor for the word length.
+   *
+   * @return The length of the target words, or 0 for any length in the word list.
+   */
+  public int getWordLength() {
+    return this.wordLength;
+  } // getWordLength()
+
+  /**
+   * Accessor for hard mode.
+   *
+   * @return true if every guess must honor the hints revealed so far.
+   */
+  public boolean getHardMode() {
+    return this.hardMode;
+  } // getHardMode()
+
   /**
    * Accessor for score validity.
    *
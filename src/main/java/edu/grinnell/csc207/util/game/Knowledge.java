@@ -0,0 +1,187 @@
+package edu.grinnell.csc207.util.game;
+
+import java.util.Arrays;
+
+/**
+ * What the feedback so far reveals about the target, kept up to date one guess at a time, for
+ * checking guesses in hard mode.
+ *
+ * <p>A guess is allowed if it could still be the target: every green letter is in its place, no
+ * letter is where it was marked yellow or gray, and each letter appears at least as often as it
+ * has been marked green or yellow in one guess, and no more often than that once it has also
+ * been marked gray. Each position keeps a bitmask of the letters it may hold, and each letter
+ * its least and greatest possible count, so checking a guess touches only its own letters.
+ *
+ * <p>Only the letters a-z are tracked, ignoring case; anything else is always allowed.
+ *
+ * @author Andrew Fargo
+ */
+final class Knowledge {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** Number of letters tracked. */
+  private static final int LETTERS = 26;
+
+  /** Every letter. */
+  private static final int ALL = (1 << LETTERS) - 1;
+
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** For each position, the letters it may hold, one bit per letter. */
+  private final int[] allowed;
+
+  /** For each letter, the fewest times the target may contain it. */
+  private final int[] min;
+
+  /** For each letter, the most times the target may contain it. */
+  private final int[] max;
+
+  /** The letters the target must contain. */
+  private int required;
+
+  /** The letters the target cannot contain. */
+  private int excluded;
+
+  // +-------------+---------------------------------------------------
+  // | Constructor |
+  // +-------------+
+
+  /**
+   * Start knowing nothing about a target.
+   *
+   * @param length The length of the target.
+   */
+  Knowledge(int length) {
+    this.allowed = new int[length];
+    this.min = new int[LETTERS];
+    this.max = new int[LETTERS];
+    Arrays.fill(this.allowed, ALL);
+    Arrays.fill(this.max, length);
+  } // Knowledge(int)
+
+  // +----------------+---------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Find a character's letter.
+   *
+   * @param ch The character.
+   * @return Its position in the alphabet, ignoring case, or -1 if it is not a letter a-z.
+   */
+  private static int letter(char ch) {
+    int letter = (ch | 0x20) - 'a';
+    return (letter >= 0 && letter < LETTERS) ? letter : -1;
+  } // letter(char)
+
+  /**
+   * Count a letter in a word.
+   *
+   * @param word The word.
+   * @param letter The letter, as from {@link #letter(char)}.
+   * @return How many times it appears.
+   */
+  private static int count(CharSequence word, int letter) {
+    int count = 0;
+    for (int i = 0; i < word.length(); i++) {
+      if (Knowledge.letter(word.charAt(i)) == letter) {
+        count++;
+      } // if
+    } // for
+    return count;
+  } // count(CharSequence, int)
+
+  // +---------+---------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Learn from the feedback on a guess.
+   *
+   * @param guess The guess, of the target's length.
+   * @param pattern Its feedback, as from {@link Feedback#score(CharSequence, CharSequence)}.
+   */
+  void update(CharSequence guess, int pattern) {
+    for (int i = 0; i < this.allowed.length; i++) {
+      int letter = Knowledge.letter(guess.charAt(i));
+      if (letter < 0) {
+        continue;
+      } // if
+      if (Feedback.mark(pattern, i) == Feedback.GREEN) {
+        this.allowed[i] = 1 << letter;
+      } else {
+        this.allowed[i] &= ~(1 << letter);
+      } // if/else
+    } // for
+
+    // Count each letter of the guess once, at its first appearance.
+    int seen = 0;
+    for (int i = 0; i < this.allowed.length; i++) {
+      int letter = Knowledge.letter(guess.charAt(i));
+      if (letter < 0 || (seen & (1 << letter)) != 0) {
+        continue;
+      } // if
+      seen |= 1 << letter;
+      int marked = 0;
+      boolean gray = false;
+      for (int j = 0; j < this.allowed.length; j++) {
+        if (Knowledge.letter(guess.charAt(j)) == letter) {
+          if (Feedback.mark(pattern, j) == Feedback.GRAY) {
+            gray = true;
+          } else {
+            marked++;
+          } // if/else
+        } // if
+      } // for
+      this.min[letter] = Math.max(this.min[letter], marked);
+      if (gray) {
+        this.max[letter] = Math.min(this.max[letter], marked);
+      } // if
+      if (this.min[letter] > 0) {
+        this.required |= 1 << letter;
+      } // if
+      if (this.max[letter] == 0) {
+        this.excluded |= 1 << letter;
+      } // if
+    } // for
+  } // update(CharSequence, int)
+
+  /**
+   * Determine whether a guess honors everything learned so far.
+   *
+   * @param guess The guess, of the target's length.
+   * @return true if it could still be the target.
+   */
+  boolean allows(CharSequence guess) {
+    int present = 0;
+    for (int i = 0; i < this.allowed.length; i++) {
+      int letter = Knowledge.letter(guess.charAt(i));
+      if (letter < 0) {
+        continue;
+      } // if
+      if ((this.allowed[i] & (1 << letter)) == 0) {
+        return false;
+      } // if
+      present |= 1 << letter;
+    } // for
+    if ((present & this.excluded) != 0 || (this.required & ~present) != 0) {
+      return false;
+    } // if
+
+    // Only letters whose count is pinned down on either side need counting.
+    for (int bits = present | this.required; bits != 0; bits &= bits - 1) {
+      int letter = Integer.numberOfTrailingZeros(bits);
+      if (this.min[letter] > 1 || this.max[letter] < this.allowed.length) {
+        int count = Knowledge.count(guess, letter);
+        if (count < this.min[letter] || count > this.max[letter]) {
+          return false;
+        } // if
+      } // if
+    } // for
+    return true;
+  } // allows(CharSequence)
+} // class Knowledge
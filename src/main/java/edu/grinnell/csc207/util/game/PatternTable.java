@@ -0,0 +1,303 @@
+package edu.grinnell.csc207.util.game;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * A precomputed table of the feedback pattern for every (answer, guess) pair, one byte per pair.
+ * Answers and guesses are indexed by their positions in the wordlist and checklist as loaded by
+ * {@link WordLoader}, after blank, bad and repeated lines are dropped, not by their line numbers.
+ *
+ * <p>The table is persisted to a binary file whose header records checksums of the two word
+ * files. Opening a table reuses (memory-maps) that file when the checksums still match, and
+ * otherwise rebuilds it in parallel and rewrites it.
+ *
+ * <p>Only words of up to five letters have patterns that fit in a byte; any pair involving longer
+ * words, or words of different lengths, is stored as {@link #NONE} and should be scored with
+ * {@link Feedback#score(CharSequence, CharSequence)} instead.
+ *
+ * @author Andrew Fargo
+ */
+public final class PatternTable {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** Stored for pairs that have no byte-sized pattern. */
+  public static final int NONE = 0xFF;
+
+  /** The longest word whose patterns fit in a byte. */
+  public static final int MAX_LENGTH = 5;
+
+  /** Identifies table files ("WPT1"). */
+  private static final int MAGIC = 0x57505431;
+
+  /** Size of the header: magic, two checksums, two dimensions. */
+  private static final int HEADER = 4 + 8 + 8 + 4 + 4;
+
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The patterns, row-major by answer, following the header. */
+  private final ByteBuffer table;
+
+  /** Number of answers (rows). */
+  private final int answers;
+
+  /** Number of guesses (columns). */
+  private final int guesses;
+
+  // +-------------+---------------------------------------------------
+  // | Constructor |
+  // +-------------+
+
+  /**
+   * Wrap a buffer holding a complete table file.
+   *
+   * @param buffer The header and patterns.
+   */
+  private PatternTable(ByteBuffer buffer) {
+    this.table = buffer;
+    this.answers = buffer.getInt(HEADER - 8);
+    this.guesses = buffer.getInt(HEADER - 4);
+  } // PatternTable(ByteBuffer)
+
+  // +----------------+---------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Open the table for a pair of word files, building and saving it if the cached file is
+   * missing or stale.
+   *
+   * @param wordlist The answers.
+   * @param checklist The valid guesses.
+   * @param cache Where the table is stored.
+   * @return The table.
+   * @throws IOException if any of the files cannot be read or the cache cannot be written.
+   */
+  public static PatternTable open(Path wordlist, Path checklist, Path cache) throws IOException {
+    long wordSum = PatternTable.checksum(wordlist);
+    long checkSum = PatternTable.checksum(checklist);
+    if (!PatternTable.isCurrent(cache, wordSum, checkSum)) {
+      PatternTable.write(cache, WordLoader.load(wordlist).words(),
+          WordLoader.load(checklist).words(), wordSum, checkSum);
+    } // if
+    try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+      return new PatternTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } // try
+  } // open(Path, Path, Path)
+
+  /**
+   * Compute the patterns for every pair, in parallel across answers.
+   *
+   * @param answers The answers.
+   * @param guesses The guesses.
+   * @return The table, in memory.
+   */
+  public static PatternTable build(String[] answers, String[] guesses) {
+    ByteBuffer buffer = ByteBuffer.allocate(PatternTable.size(answers.length, guesses.length));
+    PatternTable.fill(buffer, answers, guesses, 0, 0);
+    return new PatternTable(buffer);
+  } // build(String[], String[])
+
+  /**
+   * Determine the size of a table file.
+   *
+   * @param answers The number of answers.
+   * @param guesses The number of guesses.
+   * @return The size in bytes.
+   * @throws IllegalArgumentException if the table would not fit in one buffer.
+   */
+  private static int size(int answers, int guesses) {
+    long size = HEADER + (long) answers * guesses;
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Pattern table too large: " + answers + " x " + guesses);
+    } // if
+    return (int) size;
+  } // size(int, int)
+
+  /**
+   * Write the header and every pattern into a buffer.
+   *
+   * @param buffer The buffer, at least {@link #size(int, int)} bytes.
+   * @param answers The answers.
+   * @param guesses The guesses.
+   * @param wordSum The checksum of the wordlist.
+   * @param checkSum The checksum of the checklist.
+   */
+  private static void fill(ByteBuffer buffer, String[] answers, String[] guesses,
+      long wordSum, long checkSum) {
+    buffer.putInt(0, MAGIC);
+    buffer.putLong(4, wordSum);
+    buffer.putLong(12, checkSum);
+    buffer.putInt(HEADER - 8, answers.length);
+    buffer.putInt(HEADER - 4, guesses.length);
+    IntStream.range(0, answers.length).parallel().forEach((a) -> {
+      int offset = HEADER + a * guesses.length;
+      for (int g = 0; g < guesses.length; g++) {
+        buffer.put(offset + g, PatternTable.compute(answers[a], guesses[g]));
+      } // for
+    });
+  } // fill(ByteBuffer, String[], String[], long, long)
+
+  /**
+   * Compute a single entry.
+   *
+   * @param answer The answer.
+   * @param guess The guess.
+   * @return The pattern, or {@link #NONE}, as a byte.
+   */
+  private static byte compute(String answer, String guess) {
+    if (answer.length() != guess.length() || answer.length() > MAX_LENGTH) {
+      return (byte) NONE;
+    } // if
+    return (byte) Feedback.score(guess, answer);
+  } // compute(String, String)
+
+  /**
+   * Build a table and save it, replacing the old file only once the new one is complete.
+   *
+   * @param cache Where to save it.
+   * @param answers The answers.
+   * @param guesses The guesses.
+   * @param wordSum The checksum of the wordlist.
+   * @param checkSum The checksum of the checklist.
+   * @throws IOException if the file cannot be written.
+   */
+  private static void write(Path cache, String[] answers, String[] guesses, long wordSum,
+      long checkSum) throws IOException {
+    int size = PatternTable.size(answers.length, guesses.length);
+    Path tmp = PatternTable.tempFile(cache);
+    try {
+      try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ,
+          StandardOpenOption.WRITE)) {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        PatternTable.fill(buffer, answers, guesses, wordSum, checkSum);
+        buffer.force();
+      } // try
+      Files.move(tmp, cache, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    } // try/finally
+  } // write(Path, String[], String[], long, long)
+
+  /**
+   * Determine if a cached table was built from files with the given checksums.
+   *
+   * @param cache The table file.
+   * @param wordSum The checksum of the wordlist.
+   * @param checkSum The checksum of the checklist.
+   * @return true if the file exists and matches.
+   * @throws IOException if the file exists but cannot be read.
+   */
+  private static boolean isCurrent(Path cache, long wordSum, long checkSum) throws IOException {
+    if (!Files.isReadable(cache)) {
+      return false;
+    } // if
+    try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER);
+      int read = 0;
+      while (header.hasRemaining() && read >= 0) {
+        read = channel.read(header);
+      } // while
+      if (header.hasRemaining()) {
+        return false;
+      } // if
+      return header.getInt(0) == MAGIC && header.getLong(4) == wordSum
+          && header.getLong(12) == checkSum
+          && channel.size() == (long) HEADER + (long) header.getInt(HEADER - 8)
+              * header.getInt(HEADER - 4);
+    } // try
+  } // isCurrent(Path, long, long)
+
+  /**
+   * Compute the CRC-32 of a file.
+   *
+   * @param path The file.
+   * @return Its checksum.
+   * @throws IOException if the file cannot be read.
+   */
+  static long checksum(Path path) throws IOException {
+    try (CheckedInputStream in =
+        new CheckedInputStream(Files.newInputStream(path), new CRC32())) {
+      in.transferTo(OutputStream.nullOutputStream());
+      return in.getChecksum().getValue();
+    } // try
+  } // checksum(Path)
+
+  /**
+   * Create an empty file beside another under a name no one else is using, to build a new copy
+   * of it in. Processes that rebuild the same file at once then never write into, or truncate,
+   * each other's copy; whichever is moved into place last wins, and maps of the old file stay
+   * valid.
+   *
+   * @param file The file to be replaced.
+   * @return The new, empty file.
+   * @throws IOException if the file cannot be created.
+   */
+  static Path tempFile(Path file) throws IOException {
+    while (true) {
+      Path tmp = file.resolveSibling(file.getFileName() + "."
+          + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+      try {
+        return Files.createFile(tmp);
+      } catch (FileAlreadyExistsException e) {
+        // Try another name.
+        continue;
+      } // try/catch
+    } // while
+  } // tempFile(Path)
+
+  // +---------+---------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Look up the pattern for a pair.
+   *
+   * @param answer The index of the answer in the wordlist.
+   * @param guess The index of the guess in the checklist.
+   * @return The pattern, as from {@link Feedback#score(CharSequence, CharSequence)}, or
+   *         {@link #NONE}.
+   * @throws IndexOutOfBoundsException if either index is out of range.
+   */
+  public int get(int answer, int guess) {
+    if (answer < 0 || answer >= this.answers || guess < 0 || guess >= this.guesses) {
+      throw new IndexOutOfBoundsException("No pattern for " + answer + ", " + guess);
+    } // if
+    return this.table.get(HEADER + answer * this.guesses + guess) & 0xFF;
+  } // get(int, int)
+
+  /**
+   * Get the number of answers.
+   *
+   * @return The number of rows.
+   */
+  public int answers() {
+    return this.answers;
+  } // answers()
+
+  /**
+   * Get the number of guesses.
+   *
+   * @return The number of columns.
+   */
+  public int guesses() {
+    return this.guesses;
+  } // guesses()
+} // class PatternTable
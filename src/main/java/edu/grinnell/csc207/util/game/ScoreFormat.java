@@ -0,0 +1,14 @@
+package edu.grinnell.csc207.util.game;
+
+/**
+ * How {@link Scores} writes its snapshots to the save file. Either format is read back no matter
+ * which one is configured, so a save file can be switched from one to the other.
+ *
+ * @author Andrew Fargo
+ */
+public enum ScoreFormat {
+  /** One score and its frequency per line, tab-separated, readable by people. */
+  TEXT,
+  /** Variable-length integers, a few bytes per score. */
+  BINARY
+} // enum ScoreFormat
@@ -0,0 +1,161 @@
+package edu.grinnell.csc207.util.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only binary log of changes to a score histogram, kept beside the snapshot written by
+ * {@link Scores#save()}.
+ *
+ * <p>The journal starts with a header naming the epoch of the snapshot it follows. Each record
+ * is a score, how many more times it was achieved, and a CRC-32 of the two. Records are only
+ * ever appended, so a crash can at worst leave a torn record at the end, which recovery
+ * detects by its checksum and discards.
+ *
+ * @author Andrew Fargo
+ */
+final class ScoreJournal {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** Identifies journal files ("SCJ1"). */
+  private static final int MAGIC = 0x53434A31;
+
+  /** Size of the header: magic and epoch. */
+  private static final int HEADER = 4 + 8;
+
+  /** Size of a record: score, count and checksum. */
+  private static final int RECORD = 4 + 4 + 4;
+
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** Where the journal is kept. */
+  private final Path path;
+
+  // +-------------+---------------------------------------------------
+  // | Constructor |
+  // +-------------+
+
+  /**
+   * Create a journal for a save file. Nothing is read or written until needed.
+   *
+   * @param saveFile The save file the journal accompanies.
+   */
+  ScoreJournal(Path saveFile) {
+    this.path = saveFile.resolveSibling(saveFile.getFileName() + ".journal");
+  } // ScoreJournal(Path)
+
+  // +---------+---------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Replay the changes made since a snapshot. Anything after the last intact record is cut off;
+   * a journal from any other epoch is already part of the snapshot and is started over.
+   *
+   * @param epoch The epoch of the snapshot.
+   * @param apply Receives each score and the number of times it was added.
+   * @throws IOException if the journal cannot be read or repaired.
+   */
+  void recover(long epoch, BiConsumer<Integer, Integer> apply) throws IOException {
+    if (!Files.exists(this.path)) {
+      this.reset(epoch);
+      return;
+    } // if
+    ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(this.path));
+    if (data.remaining() < HEADER || data.getInt(0) != MAGIC || data.getLong(4) != epoch) {
+      this.reset(epoch);
+      return;
+    } // if
+
+    int end = HEADER;
+    while (end + RECORD <= data.limit()) {
+      int score = data.getInt(end);
+      int count = data.getInt(end + 4);
+      if (data.getInt(end + 8) != ScoreJournal.checksum(score, count)) {
+        break;
+      } // if
+      apply.accept(score, count);
+      end += RECORD;
+    } // while
+    if (end < data.limit()) {
+      try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE)) {
+        channel.truncate(end);
+        channel.force(true);
+      } // try
+    } // if
+  } // recover(long, BiConsumer<Integer, Integer>)
+
+  /**
+   * Durably append changes, in a single write.
+   *
+   * @param changes Each score and how many more times it was achieved.
+   * @throws IOException if the journal cannot be written.
+   */
+  void append(Map<Integer, Long> changes) throws IOException {
+    ByteBuffer records = ByteBuffer.allocate(changes.size() * RECORD);
+    for (Map.Entry<Integer, Long> change : changes.entrySet()) {
+      int score = change.getKey();
+      int count = (int) (long) change.getValue();
+      records.putInt(score).putInt(count).putInt(ScoreJournal.checksum(score, count));
+    } // for
+    records.flip();
+    try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND)) {
+      while (records.hasRemaining()) {
+        channel.write(records);
+      } // while
+      channel.force(false);
+    } // try
+  } // append(Map<Integer, Long>)
+
+  /**
+   * Start an empty journal following a new snapshot.
+   *
+   * @param epoch The epoch of the snapshot.
+   * @throws IOException if the journal cannot be written.
+   */
+  void reset(long epoch) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER).putInt(MAGIC).putLong(epoch).flip();
+    try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE,
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (header.hasRemaining()) {
+        channel.write(header);
+      } // while
+      channel.force(true);
+    } // try
+  } // reset(long)
+
+  /**
+   * Get the size of the journal.
+   *
+   * @return Its size in bytes.
+   * @throws IOException if the size cannot be read.
+   */
+  long size() throws IOException {
+    return Files.size(this.path);
+  } // size()
+
+  /**
+   * Compute the checksum of a record.
+   *
+   * @param score The score.
+   * @param count The count.
+   * @return The CRC-32 of both, truncated to an int.
+   */
+  private static int checksum(int score, int count) {
+    CRC32 crc = new CRC32();
+    crc.update(ByteBuffer.allocate(8).putInt(score).putInt(count).flip());
+    return (int) crc.getValue();
+  } // checksum(int, int)
+} // class ScoreJournal
@@ -0,0 +1,308 @@
+package edu.grinnell.csc207.util.game;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Score histograms for any number of players, in a single memory-mapped file.
+ *
+ * <p>The file is a header followed by an open-addressed hash table of fixed-size slots, one per
+ * player, each holding the player's name and a count for every score. Finding a player probes the
+ * table in the file; the slots of recently used players are remembered in a small LRU cache, so
+ * hot players skip the probe. The table is rebuilt at twice the size when it gets too full.
+ * Slots are placed by a hash of the encoded name, so a name that does not survive a round trip
+ * through UTF-8 is still found where it was put.
+ *
+ * <p>Scores of {@link #SCORES} or more guesses are counted together in the last bucket.
+ *
+ * @author Andrew Fargo
+ */
+final class ScoreStore {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** Buckets per player. */
+  static final int SCORES = 16;
+
+  /** Longest player name, in bytes of UTF-8. */
+  static final int MAX_NAME = 31;
+
+  /** Number of slots whose positions are cached. */
+  static final int CACHE_SIZE = 4096;
+
+  /** Identifies store files ("PSS1"). */
+  private static final int MAGIC = 0x50535331;
+
+  /** Size of the header: magic, capacity, number of players. */
+  private static final int HEADER = 4 + 4 + 4;
+
+  /** Size of a slot: name length, name, counts. */
+  private static final int SLOT = 1 + MAX_NAME + 4 * SCORES;
+
+  /** Slots in a new file. */
+  private static final int INITIAL_CAPACITY = 1024;
+
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** Where the store is kept. */
+  private final Path path;
+
+  /** The mapped file. */
+  private MappedByteBuffer table;
+
+  /** Number of slots; a power of two. */
+  private int capacity;
+
+  /** Number of players. */
+  private int size;
+
+  /** File offsets of the slots of recently used players. */
+  private final Map<String, Integer> cache;
+
+  // +-------------+---------------------------------------------------
+  // | Constructor |
+  // +-------------+
+
+  /**
+   * Open a store, creating it if necessary.
+   *
+   * @param file The file.
+   * @throws IOException if the file cannot be opened or is not a store.
+   */
+  ScoreStore(Path file) throws IOException {
+    this.path = file;
+    this.cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+        return this.size() > CACHE_SIZE;
+      } // removeEldestEntry(Map.Entry<String, Integer>)
+    };
+    if (!Files.exists(file)) {
+      ScoreStore.create(file, INITIAL_CAPACITY);
+    } // if
+    this.map();
+  } // ScoreStore(Path)
+
+  // +----------------+---------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Write an empty store.
+   *
+   * @param file The file, which is created if missing and otherwise must be empty.
+   * @param slots The number of slots.
+   * @throws IOException if the file cannot be written.
+   */
+  private static void create(Path file, int slots) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+        StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+      MappedByteBuffer buffer =
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) slots * SLOT);
+      buffer.putInt(0, MAGIC);
+      buffer.putInt(4, slots);
+      buffer.putInt(8, 0);
+      buffer.force();
+    } // try
+  } // create(Path, int)
+
+  /**
+   * Encode a player's name.
+   *
+   * @param player The name.
+   * @return Its UTF-8 bytes.
+   * @throws IllegalArgumentException if the name is empty or too long.
+   */
+  private static byte[] encode(String player) {
+    byte[] name = player.getBytes(StandardCharsets.UTF_8);
+    if (name.length == 0 || name.length > MAX_NAME) {
+      throw new IllegalArgumentException("Player names must be 1 to " + MAX_NAME + " bytes");
+    } // if
+    return name;
+  } // encode(String)
+
+  // +---------+---------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Map the file and read its header.
+   *
+   * @throws IOException if the file cannot be mapped or is not a store.
+   */
+  private void map() throws IOException {
+    try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      this.table = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+    } // try
+    if (this.table.capacity() < HEADER || this.table.getInt(0) != MAGIC) {
+      throw new IOException("Not a player score file: " + this.path);
+    } // if
+    this.capacity = this.table.getInt(4);
+    this.size = this.table.getInt(8);
+    this.cache.clear();
+  } // map()
+
+  /**
+   * Find a player's slot, or the empty slot where it belongs.
+   *
+   * @param name The name, encoded.
+   * @return The offset of the slot in the file.
+   */
+  private int find(byte[] name) {
+    // The same as String.hashCode for ASCII names, over the bytes actually stored.
+    int hash = 0;
+    for (byte b : name) {
+      hash = 31 * hash + (b & 0xFF);
+    } // for
+    hash *= 0x9E3779B9;
+    int slot = (hash ^ (hash >>> 16)) & (this.capacity - 1);
+    while (true) {
+      int offset = HEADER + slot * SLOT;
+      int length = this.table.get(offset);
+      if (length == 0 || this.matches(offset, name)) {
+        return offset;
+      } // if
+      slot = (slot + 1) & (this.capacity - 1);
+    } // while
+  } // find(byte[])
+
+  /**
+   * Determine whether a slot holds a name.
+   *
+   * @param offset The offset of the slot.
+   * @param name The name, encoded.
+   * @return true if the slot's name is the same.
+   */
+  private boolean matches(int offset, byte[] name) {
+    if (this.table.get(offset) != name.length) {
+      return false;
+    } // if
+    for (int i = 0; i < name.length; i++) {
+      if (this.table.get(offset + 1 + i) != name[i]) {
+        return false;
+      } // if
+    } // for
+    return true;
+  } // matches(int, byte[])
+
+  /**
+   * Find a player's slot, using the cache if possible.
+   *
+   * @param player The name.
+   * @return The offset of the slot, or -1 if the player has no scores.
+   */
+  private int locate(String player) {
+    Integer cached = this.cache.get(player);
+    if (cached != null) {
+      return cached;
+    } // if
+    int offset = this.find(ScoreStore.encode(player));
+    if (this.table.get(offset) == 0) {
+      return -1;
+    } // if
+    this.cache.put(player, offset);
+    return offset;
+  } // locate(String)
+
+  /**
+   * Record a win for a player, adding the player if new.
+   *
+   * @param player The name.
+   * @param score The number of guesses it took.
+   * @throws IOException if the store has to grow and cannot.
+   * @throws IllegalArgumentException if the name is empty or too long.
+   */
+  synchronized void add(String player, int score) throws IOException {
+    int offset = this.locate(player);
+    if (offset < 0) {
+      if (2 * (this.size + 1) > this.capacity) {
+        this.rehash(this.capacity * 2);
+      } // if
+      byte[] name = ScoreStore.encode(player);
+      offset = this.find(name);
+      this.table.put(offset, (byte) name.length);
+      this.table.put(offset + 1, name);
+      this.table.putInt(8, ++this.size);
+      this.cache.put(player, offset);
+    } // if
+    int bucket = offset + 1 + MAX_NAME + 4 * Math.max(0, Math.min(score, SCORES - 1));
+    this.table.putInt(bucket, this.table.getInt(bucket) + 1);
+  } // add(String, int)
+
+  /**
+   * Get a player's histogram.
+   *
+   * @param player The name.
+   * @return The count for each score, with the last counting every score at least that large;
+   *     all zero if the player has no scores.
+   */
+  synchronized long[] get(String player) {
+    long[] counts = new long[SCORES];
+    int offset = this.locate(player);
+    if (offset >= 0) {
+      for (int i = 0; i < SCORES; i++) {
+        counts[i] = this.table.getInt(offset + 1 + MAX_NAME + 4 * i) & 0xFFFFFFFFL;
+      } // for
+    } // if
+    return counts;
+  } // get(String)
+
+  /**
+   * Get the number of players.
+   *
+   * @return The number of players with scores.
+   */
+  synchronized int size() {
+    return this.size;
+  } // size()
+
+  /**
+   * Write any changes through to the disk.
+   */
+  synchronized void force() {
+    this.table.force();
+  } // force()
+
+  /**
+   * Rebuild the table, replacing the file once the new one is complete.
+   *
+   * @param slots The number of slots in the new table.
+   * @throws IOException if the new file cannot be written.
+   */
+  private void rehash(int slots) throws IOException {
+    Path tmp = PatternTable.tempFile(this.path);
+    try {
+      ScoreStore.create(tmp, slots);
+      ScoreStore bigger = new ScoreStore(tmp);
+      for (int slot = 0; slot < this.capacity; slot++) {
+        int offset = HEADER + slot * SLOT;
+        int length = this.table.get(offset);
+        if (length != 0) {
+          byte[] name = new byte[length];
+          this.table.get(offset + 1, name);
+          int target = bigger.find(name);
+          bigger.table.put(target, this.table, offset, SLOT);
+        } // if
+      } // for
+      bigger.table.putInt(8, this.size);
+      bigger.table.force();
+      Files.move(tmp, this.path, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    } // try/finally
+    this.map();
+  } // rehash(int)
+} // class ScoreStore
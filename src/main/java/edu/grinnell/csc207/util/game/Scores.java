@@ -1,68 +1,457 @@
 package edu.grinnell.csc207.util.game;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Scanner;
-import java.util.function.Function;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 
 /**
  * Represents a score-frequency tracking system. Handles saving and loading of these scores.
  *
+ * <p>Safe to share between games on different threads: each score has its own counter, so
+ * recording a win never blocks and never touches the disk. Every few seconds, new wins are
+ * appended in the background to a checksummed {@link ScoreJournal} beside the save file. Once the
+ * journal grows large, and whenever the scores are saved or closed, it is compacted into a new
+ * snapshot in the save file. The snapshot is replaced atomically, so a crash at any point loses
+ * at most the last few seconds of wins. Loading reads the snapshot and replays only the journal
+ * written since.
+ *
+ * <p>Snapshots are written in a single pass, as text or as a compact binary histogram (see
+ * {@link ScoreFormat}); either is read back regardless of the format configured.
+ *
+ * <p>Wins can also be recorded for a named player. Per-player histograms are kept in a
+ * {@link ScoreStore} beside the save file, opened the first time a player is named, so the number
+ * of players does not affect the cost of recording or looking up any one of them.
+ *
  * @author Andrew Fargo
  */
-public class Scores {
-  /** The storage data. Score to frequency. */
-  private final Map<Integer, Integer> histogram;
+public class Scores implements AutoCloseable {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** Scores below this are counted in {@link #buckets}; anything else in {@link #overflow}. */
+  static final int BUCKETS = 64;
+
+  /** Seconds between background writes to the journal. */
+  static final long FLUSH_PERIOD = 5;
+
+  /** Size in bytes past which the journal is compacted into the snapshot. */
+  static final long COMPACT_SIZE = 64 * 1024;
+
+  /** Marks the line of the snapshot that records its epoch. */
+  private static final String EPOCH = "# epoch";
+
+  /** Identifies binary snapshots ("SCB1"). */
+  private static final int MAGIC = 0x53434231;
+
+  /** Size of the header of a binary snapshot: magic and epoch. */
+  private static final int HEADER = 4 + 8;
+
+  /** Most bytes a binary histogram takes per score: a score and a frequency. */
+  private static final int MAX_ENTRY = Varints.MAX_INT + Varints.MAX_LONG;
+
+  /** Runs the background writes of every Scores. */
+  private static final ScheduledExecutorService FLUSHER =
+      Executors.newSingleThreadScheduledExecutor((task) -> {
+        Thread thread = new Thread(task, "scores-flusher");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The storage data, indexed by score. */
+  private final LongAdder[] buckets;
+
+  /** Frequencies of scores too large (or small) for the buckets. */
+  private final Map<Integer, LongAdder> overflow;
 
   /** Path of the save file. */
   private final Path path;
 
+  /** How snapshots are written. */
+  private final ScoreFormat format;
+
+  /** Changes made since the last snapshot. */
+  private final ScoreJournal journal;
+
+  /** Counts the snapshots taken; the journal only applies to the snapshot of the same epoch. */
+  private long epoch;
+
+  /** The frequencies as of the last snapshot or journal write. */
+  private Map<Integer, Long> written;
+
+  /** Set when there are changes not yet written. */
+  private final AtomicBoolean dirty;
+
+  /** The periodic background write. */
+  private final ScheduledFuture<?> flush;
+
+  /** Writes on JVM shutdown if the scores were never closed. */
+  private final Thread hook;
+
+  /** Scores by player, or null until a player is named. */
+  private volatile ScoreStore players;
+
   /**
-   * Create or read from a save file.
+   * Create or read from a save file, writing snapshots as text.
    *
    * @param saveFile The save file to be created or read from.
    */
   public Scores(Path saveFile) throws IOException {
-    this.histogram = new HashMap<>();
+    this(saveFile, ScoreFormat.TEXT);
+  } // Scores(Path)
+
+  /**
+   * Create or read from a save file.
+   *
+   * @param saveFile The save file to be created or read from.
+   * @param saveFormat How snapshots are written.
+   */
+  public Scores(Path saveFile, ScoreFormat saveFormat) throws IOException {
+    this.buckets = new LongAdder[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      this.buckets[i] = new LongAdder();
+    } // for
+    this.overflow = new ConcurrentHashMap<>();
     this.path = saveFile;
+    this.format = saveFormat;
+    this.journal = new ScoreJournal(saveFile);
+    this.dirty = new AtomicBoolean(false);
     if (Files.isReadable(saveFile)) {
       this.load();
+      this.journal.recover(this.epoch, (score, count) -> this.counter(score).add(count));
+      this.written = this.counts();
     } else {
       this.save(); // Necessarily empty, creates
     } // if/else
-  } // Scores(Path)
+    this.flush = FLUSHER.scheduleWithFixedDelay(this::flush, FLUSH_PERIOD, FLUSH_PERIOD,
+        TimeUnit.SECONDS);
+    this.hook = new Thread(this::flush);
+    Runtime.getRuntime().addShutdownHook(this.hook);
+  } // Scores(Path, ScoreFormat)
+
+  /**
+   * Open the save file named by a game's options, in the format they name.
+   *
+   * @param options The options.
+   * @return The scores.
+   * @throws IOException if the save file cannot be read or created.
+   */
+  public static Scores open(GameOptions options) throws IOException {
+    return new Scores(options.getSavefile(), options.getScoreFormat());
+  } // open(GameOptions)
 
   /**
-   * Save the current values to disk.
+   * Save the current values to disk as a new snapshot, and start a new journal.
    */
-  public final void save() throws IOException {
-    Files.writeString(this.path, this.toString(), StandardOpenOption.WRITE,
-        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+  public final synchronized void save() throws IOException {
+    this.dirty.set(false);
+    Map<Integer, Long> counts = this.counts();
+    long next = this.epoch + 1;
+
+    Path tmp = PatternTable.tempFile(this.path);
+    try {
+      try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+        if (this.format == ScoreFormat.BINARY) {
+          ByteBuffer data =
+              ByteBuffer.allocate(HEADER + Varints.MAX_INT + counts.size() * MAX_ENTRY);
+          data.putInt(MAGIC).putLong(next);
+          Scores.write(counts, data);
+          data.flip();
+          while (data.hasRemaining()) {
+            channel.write(data);
+          } // while
+        } else {
+          Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+          out.write(EPOCH + " " + next + "\n");
+          Scores.write(counts, out);
+          out.flush();
+        } // if/else
+        channel.force(true);
+      } // try
+      Files.move(tmp, this.path, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    } // try/finally
+
+    // A crash here leaves a journal from the old epoch, which recovery ignores.
+    this.epoch = next;
+    this.journal.reset(next);
+    this.written = counts;
+    this.forcePlayers();
   } // save()
 
   /**
-   * Load path into current values.
+   * Write the scores of every player through to the disk, if any have been recorded.
+   */
+  private void forcePlayers() {
+    ScoreStore store = this.players;
+    if (store != null) {
+      store.force();
+    } // if
+  } // forcePlayers()
+
+  /**
+   * Get the per-player scores, opening them if necessary.
+   *
+   * @return The store beside the save file.
+   * @throws UncheckedIOException if the store cannot be opened.
+   */
+  private ScoreStore players() {
+    ScoreStore store = this.players;
+    if (store == null) {
+      synchronized (this) {
+        store = this.players;
+        if (store == null) {
+          try {
+            store = new ScoreStore(this.path.resolveSibling(this.path.getFileName() + ".players"));
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          } // try/catch
+          this.players = store;
+        } // if
+      } // synchronized
+    } // if
+    return store;
+  } // players()
+
+  /**
+   * Append any changes to the journal, compacting it if it has grown large. Run in the
+   * background.
+   */
+  private synchronized void flush() {
+    if (!this.dirty.getAndSet(false)) {
+      return;
+    } // if
+    try {
+      Map<Integer, Long> counts = this.counts();
+      Map<Integer, Long> changes = new TreeMap<>();
+      counts.forEach((score, freq) -> {
+        long change = freq - this.written.getOrDefault(score, 0L);
+        if (change != 0) {
+          changes.put(score, change);
+        } // if
+      });
+      this.journal.append(changes);
+      this.written = counts;
+      this.forcePlayers();
+      if (this.journal.size() > COMPACT_SIZE) {
+        this.save();
+      } // if
+    } catch (IOException e) {
+      // Keep the changes marked so the next flush tries again.
+      this.dirty.set(true);
+    } // try/catch
+  } // flush()
+
+  /**
+   * Stop writing in the background, and save any outstanding changes.
+   *
+   * @throws IOException if the final save fails.
+   */
+  @Override
+  public void close() throws IOException {
+    this.flush.cancel(false);
+    try {
+      Runtime.getRuntime().removeShutdownHook(this.hook);
+    } catch (IllegalStateException e) {
+      // Already shutting down; the hook will write.
+      return;
+    } // try/catch
+    this.save();
+  } // close()
+
+  /**
+   * Load the snapshot in the save file into current values.
    */
   private void load() throws IOException {
-    this.histogram.clear();
-    try (Scanner sc = new Scanner(this.path)) {
-      while (sc.hasNextInt()) {
-        try {
-          int guesses = sc.nextInt();
-          int freq = sc.nextInt();
-          this.histogram.put(guesses, freq);
-        } catch (Exception e) {
-          sc.close();
-          throw new IOException("Save file corrupt when loading: " + e.getMessage());
-        } // try/catch
-      } // while
-    } // try
+    this.epoch = 0;
+    ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(this.path));
+    if (data.remaining() >= HEADER && data.getInt(0) == MAGIC) {
+      this.epoch = data.getLong(4);
+      try {
+        Scores.read(data.position(HEADER), (score, freq) -> this.counter(score).add(freq));
+      } catch (BufferUnderflowException e) {
+        throw new IOException("Save file corrupt when loading: truncated");
+      } // try/catch
+      return;
+    } // if
+    for (String line : new String(data.array(), StandardCharsets.UTF_8).split("\n")) {
+      String trimmed = line.trim();
+      try {
+        if (trimmed.startsWith(EPOCH)) {
+          this.epoch = Long.parseLong(trimmed.substring(EPOCH.length()).trim());
+        } else if (!trimmed.isEmpty()) {
+          String[] fields = trimmed.split("\\s+");
+          this.counter(Integer.parseInt(fields[0])).add(Long.parseLong(fields[1]));
+        } // if/else
+      } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+        throw new IOException("Save file corrupt when loading: " + e.getMessage());
+      } // try/catch
+    } // for
   } // load()
 
+  /**
+   * Find the counter for a score.
+   *
+   * @param score The score.
+   * @return Its counter.
+   */
+  private LongAdder counter(int score) {
+    if (score >= 0 && score < BUCKETS) {
+      return this.buckets[score];
+    } // if
+    return this.overflow.computeIfAbsent(score, (k) -> new LongAdder());
+  } // counter(int)
+
+  /**
+   * Take a snapshot of every nonzero frequency.
+   *
+   * @return The frequencies, by score, in order.
+   */
+  private Map<Integer, Long> counts() {
+    Map<Integer, Long> sorted = new TreeMap<>();
+    for (int i = 0; i < BUCKETS; i++) {
+      long freq = this.buckets[i].sum();
+      if (freq != 0) {
+        sorted.put(i, freq);
+      } // if
+    } // for
+    this.overflow.forEach((score, freq) -> sorted.put(score, freq.sum()));
+    return sorted;
+  } // counts()
+
+  /**
+   * Format frequencies one per line.
+   *
+   * @param counts The frequencies, by score.
+   * @return The formatted lines.
+   */
+  private static String format(Map<Integer, Long> counts) {
+    StringBuilder sb = new StringBuilder(counts.size() * 8);
+    try {
+      Scores.write(counts, sb);
+    } catch (IOException e) {
+      // A StringBuilder never throws.
+      throw new UncheckedIOException(e);
+    } // try/catch
+    return sb.toString();
+  } // format(Map<Integer, Long>)
+
+  /**
+   * Write frequencies one per line, tab-separated.
+   *
+   * @param counts The frequencies, by score.
+   * @param out Where to write.
+   * @throws IOException if writing fails.
+   */
+  private static void write(Map<Integer, Long> counts, Appendable out) throws IOException {
+    for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+      out.append(Integer.toString(entry.getKey())).append('\t')
+          .append(Long.toString(entry.getValue())).append('\n');
+    } // for
+  } // write(Map<Integer, Long>, Appendable)
+
+  /**
+   * Write frequencies as a binary histogram: the number of scores, then each score (as the
+   * zigzag-encoded difference from the one before) and its frequency, all as base-128 varints.
+   *
+   * @param counts The frequencies, by score, in order.
+   * @param out Where to write.
+   * @throws java.nio.BufferOverflowException if the buffer is too small.
+   */
+  private static void write(Map<Integer, Long> counts, ByteBuffer out) {
+    Varints.put(out, counts.size());
+    int previous = 0;
+    for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+      int delta = entry.getKey() - previous;
+      Varints.put(out, (delta << 1 ^ delta >> 31) & 0xFFFFFFFFL);
+      Varints.put(out, entry.getValue());
+      previous = entry.getKey();
+    } // for
+  } // write(Map<Integer, Long>, ByteBuffer)
+
+  /**
+   * Read a binary histogram written by {@link #write(Map, ByteBuffer)}.
+   *
+   * @param in Where to read.
+   * @param apply Receives each score and its frequency.
+   * @throws BufferUnderflowException if the histogram is cut short.
+   */
+  private static void read(ByteBuffer in, BiConsumer<Integer, Long> apply) {
+    long size = Varints.get(in);
+    int previous = 0;
+    for (long i = 0; i < size; i++) {
+      int zigzag = (int) Varints.get(in);
+      previous += zigzag >>> 1 ^ -(zigzag & 1);
+      apply.accept(previous, Varints.get(in));
+    } // for
+  } // read(ByteBuffer, BiConsumer<Integer, Long>)
+
+  /**
+   * Write every nonzero frequency one per line, as {@link #toString()} formats them, without
+   * building the whole text first.
+   *
+   * @param out Where to write.
+   * @throws IOException if writing fails.
+   */
+  public void write(Writer out) throws IOException {
+    Scores.write(this.counts(), out);
+  } // write(Writer)
+
+  /**
+   * Write every nonzero frequency as a compact binary histogram: a varint count, then for each
+   * score a zigzag varint of its difference from the previous score and a varint frequency.
+   *
+   * @param out Where to write.
+   * @throws java.nio.BufferOverflowException if the buffer is too small.
+   */
+  public void write(ByteBuffer out) {
+    Scores.write(this.counts(), out);
+  } // write(ByteBuffer)
+
+  /**
+   * Format a player's frequencies one per line, as {@link #toString()} does for everyone.
+   *
+   * @param player The player's name.
+   * @return The formatted lines; empty if the player has no wins.
+   * @throws IllegalArgumentException if the name is empty or too long.
+   */
+  public String toString(String player) {
+    long[] freqs = this.players().get(player);
+    Map<Integer, Long> counts = new TreeMap<>();
+    for (int i = 0; i < freqs.length; i++) {
+      if (freqs[i] != 0) {
+        counts.put(i, freqs[i]);
+      } // if
+    } // for
+    return Scores.format(counts);
+  } // toString(String)
+
   /**
    * Represents the map as a human-readable and computer-readable string.
    *
@@ -70,12 +459,7 @@ public class Scores {
    */
   @Override
   public String toString() {
-    Function<Map.Entry<Integer, Integer>, String> toFormat =
-        (e) -> "" + e.getKey() + "\t" + e.getValue() + "\n";
-    // This series of stream operations makes the formatting significantly
-    // easier compared to imperative methods.
-    return this.histogram.entrySet().stream().sorted(Map.Entry.comparingByKey()).parallel()
-        .map(toFormat).reduce("", (s1, s2) -> s1.concat(s2));
+    return Scores.format(this.counts());
   } // toString()
 
   /**
@@ -84,6 +468,24 @@ public class Scores {
    * @param score The amount of guesses it took to win.
    */
   public void add(int score) {
-    this.histogram.compute(score, (k, v) -> (v == null) ? 1 : v + 1);
+    this.counter(score).increment();
+    this.dirty.set(true);
   } // add(int)
+
+  /**
+   * Adds a score to the histogram, and to a player's own histogram.
+   *
+   * @param player The player's name, at most {@link ScoreStore#MAX_NAME} bytes of UTF-8.
+   * @param score The amount of guesses it took to win.
+   * @throws IllegalArgumentException if the name is empty or too long.
+   * @throws UncheckedIOException if the player's scores cannot be written.
+   */
+  public void add(String player, int score) {
+    try {
+      this.players().add(player, score);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } // try/catch
+    this.add(score);
+  } // add(String, int)
 } // class Scores
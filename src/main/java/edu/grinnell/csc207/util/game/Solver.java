@@ -0,0 +1,330 @@
+package edu.grinnell.csc207.util.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Suggests guesses for a game in progress. Keeps the set of answers still consistent with the
+ * feedback seen so far, narrowing it as each new row of the board arrives, and suggests the
+ * valid guess whose feedback is expected to tell us the most about which of them is the target
+ * (the guess with the highest entropy over its feedback patterns).
+ *
+ * <p>Scoring every guess against every remaining candidate is split across cores with
+ * fork/join. A solver is not itself thread-safe; use one per game.
+ *
+ * @author Andrew Fargo
+ */
+public class Solver implements Strategy {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** Below this many guesses, a task evaluates them itself rather than splitting. */
+  private static final int THRESHOLD = 128;
+
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The answers and precomputed patterns. */
+  private final Words words;
+
+  /** Every valid guess, in checklist order, in upper case. */
+  private final String[] guesses;
+
+  /** The wordlist indices of the remaining candidates; only the first few are live. */
+  private int[] candidates;
+
+  /** How many candidates remain. */
+  private int remaining;
+
+  /** Length of the target word. */
+  private int length;
+
+  /** Guesses already used to narrow the candidates, in order. */
+  private final List<String> applied;
+
+  /** Patterns already used to narrow the candidates, in order. */
+  private final List<Integer> feedback;
+
+  /** The suggestion before any feedback, which is the same every game; null until needed. */
+  private String opening;
+
+  // +-------------+---------------------------------------------------
+  // | Constructor |
+  // +-------------+
+
+  /**
+   * Create a solver for the word lists of a game. The guesses come from the game's shared
+   * dictionary, so nothing is read from disk.
+   *
+   * @param gameWords The words used by the game.
+   */
+  public Solver(Words gameWords) {
+    this.words = gameWords;
+    this.guesses = new String[gameWords.guessCount()];
+    for (int i = 0; i < this.guesses.length; i++) {
+      this.guesses[i] = gameWords.guess(i).toUpperCase();
+    } // for
+    this.applied = new ArrayList<>();
+    this.feedback = new ArrayList<>();
+    this.candidates = new int[0];
+  } // Solver(Words)
+
+  // +---------+---------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Start over, with every answer of the given length as a candidate.
+   *
+   * @param wordLength The length of the target.
+   */
+  public void reset(int wordLength) {
+    WordBank answers = this.words.answers();
+    if (this.length != wordLength) {
+      this.opening = null;
+    } // if
+    this.length = wordLength;
+    this.candidates = answers.withLength(wordLength);
+    this.remaining = this.candidates.length;
+    this.applied.clear();
+    this.feedback.clear();
+  } // reset(int)
+
+  /**
+   * Narrow the candidates to those consistent with one more row of feedback.
+   *
+   * @param guess The word guessed.
+   * @param pattern The feedback it received.
+   */
+  public void update(String guess, int pattern) {
+    int index = this.words.indexOf(guess);
+    int kept = 0;
+    for (int i = 0; i < this.remaining; i++) {
+      int answer = this.candidates[i];
+      int actual = (index < 0)
+          ? Feedback.score(guess, this.words.answer(answer))
+          : this.pattern(answer, index);
+      if (actual == pattern) {
+        this.candidates[kept++] = answer;
+      } // if
+    } // for
+    this.remaining = kept;
+    this.applied.add(guess);
+    this.feedback.add(pattern);
+  } // update(String, int)
+
+  /**
+   * Catch up with the board of a game, applying only rows not seen before. Starts over if the
+   * game is no longer the one this solver was following.
+   *
+   * @param game The game.
+   */
+  public void sync(GameLogic game) {
+    int made = game.getGuessesMade();
+    boolean same = this.length == game.getTarget().length() && this.applied.size() <= made;
+    for (int row = 0; same && row < this.applied.size(); row++) {
+      same = this.applied.get(row).equals(game.getGuess(row))
+          && this.feedback.get(row) == game.getPattern(row);
+    } // for
+    if (!same) {
+      this.reset(game.getTarget().length());
+    } // if
+    for (int row = this.applied.size(); row < made; row++) {
+      this.update(game.getGuess(row), game.getPattern(row));
+    } // for
+  } // sync(GameLogic)
+
+  /**
+   * Suggest the next guess for a game.
+   *
+   * @param game The game.
+   * @return The suggested guess, in upper case, or null if no answer fits the board.
+   */
+  public String suggest(GameLogic game) {
+    this.sync(game);
+    return this.suggest();
+  } // suggest(GameLogic)
+
+  /**
+   * Choose the next guess for a game; the same as {@link #suggest(GameLogic)}.
+   *
+   * @param game The game.
+   * @return The suggested guess, or null if no answer fits the board.
+   */
+  @Override
+  public String guess(GameLogic game) {
+    return this.suggest(game);
+  } // guess(GameLogic)
+
+  /**
+   * Suggest the next guess given the feedback applied so far.
+   *
+   * @return The suggested guess, in upper case, or null if no answer fits the feedback.
+   */
+  public String suggest() {
+    if (this.remaining == 0) {
+      return null;
+    } else if (this.remaining <= 2) {
+      return this.words.answer(this.candidates[0]);
+    } else if (this.applied.isEmpty() && this.opening != null) {
+      return this.opening;
+    } // if/else
+    Choice best = ForkJoinPool.commonPool().invoke(new Evaluate(0, this.guesses.length));
+    String suggestion =
+        (best == null) ? this.words.answer(this.candidates[0]) : this.guesses[best.guess];
+    if (this.applied.isEmpty()) {
+      this.opening = suggestion;
+    } // if
+    return suggestion;
+  } // suggest()
+
+  /**
+   * Determine how many answers are still possible.
+   *
+   * @return The number of candidates.
+   */
+  public int remaining() {
+    return this.remaining;
+  } // remaining()
+
+  /**
+   * Get the feedback a guess would receive for an answer.
+   *
+   * @param answer The index of the answer in the wordlist.
+   * @param guess The index of the guess in the checklist.
+   * @return The pattern.
+   */
+  private int pattern(int answer, int guess) {
+    int pattern = this.words.lookup(answer, guess);
+    if (pattern == PatternTable.NONE) {
+      pattern = Feedback.score(this.guesses[guess], this.words.answer(answer));
+    } // if
+    return pattern;
+  } // pattern(int, int)
+
+  // +---------------+-----------------------------------------------
+  // | Inner classes |
+  // +---------------+
+
+  /**
+   * A guess under consideration and how good it is.
+   */
+  private static final class Choice {
+    /** Index of the guess in the checklist. */
+    final int guess;
+
+    /** Expected information from its feedback, in bits. */
+    final double entropy;
+
+    /** Whether the guess could itself be the answer. */
+    final boolean possible;
+
+    /**
+     * Record an evaluated guess.
+     *
+     * @param index Index of the guess in the checklist.
+     * @param bits Expected information, in bits.
+     * @param canWin Whether the guess could be the answer.
+     */
+    Choice(int index, double bits, boolean canWin) {
+      this.guess = index;
+      this.entropy = bits;
+      this.possible = canWin;
+    } // Choice(int, double, boolean)
+
+    /**
+     * Pick the better of two choices: more information, then a possible answer, then the
+     * earlier guess, so the result does not depend on how the work was split.
+     *
+     * @param a One choice, or null.
+     * @param b Another choice, or null.
+     * @return The better one.
+     */
+    static Choice better(Choice a, Choice b) {
+      if (a == null) {
+        return b;
+      } else if (b == null) {
+        return a;
+      } else if (a.entropy != b.entropy) {
+        return (a.entropy > b.entropy) ? a : b;
+      } else if (a.possible != b.possible) {
+        return a.possible ? a : b;
+      } else {
+        return (a.guess < b.guess) ? a : b;
+      } // if/else
+    } // better(Choice, Choice)
+  } // class Choice
+
+  /**
+   * Evaluates a range of guesses against every remaining candidate. Tasks are never serialized.
+   */
+  @SuppressWarnings("serial")
+  private final class Evaluate extends RecursiveTask<Choice> {
+    /** First guess to evaluate (inclusive). */
+    private final int lo;
+
+    /** Last guess to evaluate (exclusive). */
+    private final int hi;
+
+    /**
+     * Create a task for a range of guesses.
+     *
+     * @param from First guess (inclusive).
+     * @param to Last guess (exclusive).
+     */
+    Evaluate(int from, int to) {
+      this.lo = from;
+      this.hi = to;
+    } // Evaluate(int, int)
+
+    /**
+     * Evaluate the range, splitting it if large.
+     *
+     * @return The best guess in the range, or null if none has the right length.
+     */
+    @Override
+    protected Choice compute() {
+      if (this.hi - this.lo > THRESHOLD) {
+        int mid = (this.lo + this.hi) >>> 1;
+        Evaluate left = new Evaluate(this.lo, mid);
+        left.fork();
+        Choice right = new Evaluate(mid, this.hi).compute();
+        return Choice.better(left.join(), right);
+      } // if
+
+      int[] counts = new int[Feedback.patterns(Solver.this.length)];
+      int[] seen = new int[Solver.this.remaining];
+      int solved = Feedback.solved(Solver.this.length);
+      double total = Solver.this.remaining;
+      Choice best = null;
+      for (int g = this.lo; g < this.hi; g++) {
+        if (Solver.this.guesses[g].length() != Solver.this.length) {
+          continue;
+        } // if
+        int distinct = 0;
+        boolean canWin = false;
+        for (int i = 0; i < Solver.this.remaining; i++) {
+          int p = Solver.this.pattern(Solver.this.candidates[i], g);
+          if (counts[p]++ == 0) {
+            seen[distinct++] = p;
+          } // if
+          canWin |= p == solved;
+        } // for
+        // H = log(n) - (1/n) * sum(c * log(c)), in bits
+        double sum = 0;
+        for (int i = 0; i < distinct; i++) {
+          int c = counts[seen[i]];
+          sum += c * Math.log(c);
+          counts[seen[i]] = 0;
+        } // for
+        double bits = (Math.log(total) - sum / total) / Math.log(2);
+        best = Choice.better(best, new Choice(g, bits, canWin));
+      } // for
+      return best;
+    } // compute()
+  } // class Evaluate
+} // class Solver
@@ -0,0 +1,16 @@
+package edu.grinnell.csc207.util.game;
+
+/**
+ * A way of choosing guesses, for games played without a person at the keyboard.
+ *
+ * @author Andrew Fargo
+ */
+public interface Strategy {
+  /**
+   * Choose the next guess for a game in progress.
+   *
+   * @param game The game, with any previous guesses on its board.
+   * @return The guess to register.
+   */
+  String guess(GameLogic game);
+} // interface Strategy
@@ -0,0 +1,70 @@
+package edu.grinnell.csc207.util.game;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes non-negative numbers in base 128, seven bits per byte, low bits first, with
+ * the high bit of each byte set when more follow. Small numbers take a single byte.
+ *
+ * @author Andrew Fargo
+ */
+final class Varints {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** Most bytes an int can take. */
+  static final int MAX_INT = 5;
+
+  /** Most bytes a long can take. */
+  static final int MAX_LONG = 10;
+
+  // +-------------+---------------------------------------------------
+  // | Constructor |
+  // +-------------+
+
+  /**
+   * Nothing to construct; every method is static.
+   */
+  private Varints() {
+  } // Varints()
+
+  // +----------------+---------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Write a number.
+   *
+   * @param out Where to write.
+   * @param value The number, treated as unsigned.
+   * @throws java.nio.BufferOverflowException if the buffer is too small.
+   */
+  static void put(ByteBuffer out, long value) {
+    long rest = value;
+    while ((rest & ~0x7FL) != 0) {
+      out.put((byte) (rest & 0x7F | 0x80));
+      rest >>>= 7;
+    } // while
+    out.put((byte) rest);
+  } // put(ByteBuffer, long)
+
+  /**
+   * Read a number written by {@link #put(ByteBuffer, long)}.
+   *
+   * @param in Where to read.
+   * @return The number.
+   * @throws java.nio.BufferUnderflowException if the buffer ends first.
+   */
+  static long get(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      } // if
+    } // for
+    return value;
+  } // get(ByteBuffer)
+} // class Varints
@@ -0,0 +1,207 @@
+package edu.grinnell.csc207.util.game;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * An immutable, random-access list of possible answers. The word list is read
+ * once and kept in memory in upper case, along with the positions of the words
+ * of each length, so choosing a target of any length is a single array access.
+ *
+ * <p>A bank opened from a {@link DictionaryFile} instead holds only views of
+ * the mapped file: the packed word at each position, unpacked when it is asked
+ * for, and the positions grouped by length.
+ *
+ * @author Andrew Fargo
+ */
+public final class WordBank {
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The answers, in list order, in upper case, or null if mapped. */
+  private final String[] words;
+
+  /** The packed answers, in list order, if mapped; otherwise null. */
+  private final LongBuffer codes;
+
+  /** The positions of the words, grouped by length and in list order within a length. */
+  private final IntBuffer byLength;
+
+  /** Where the positions of the words of each length begin in {@link #byLength}. */
+  private final int[] starts;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Build a bank from a list of words.
+   *
+   * @param list The words, in list order.
+   */
+  public WordBank(String[] list) {
+    this.words = new String[list.length];
+    for (int i = 0; i < list.length; i++) {
+      this.words[i] = list[i].toUpperCase();
+    } // for
+    this.codes = null;
+
+    int longest = 0;
+    for (String word : this.words) {
+      longest = Math.max(longest, word.length());
+    } // for
+    this.starts = new int[longest + 2];
+    for (String word : this.words) {
+      this.starts[word.length() + 1]++;
+    } // for
+    for (int len = 1; len < this.starts.length; len++) {
+      this.starts[len] += this.starts[len - 1];
+    } // for
+    int[] positions = new int[this.words.length];
+    int[] next = this.starts.clone();
+    for (int i = 0; i < this.words.length; i++) {
+      positions[next[this.words[i].length()]++] = i;
+    } // for
+    this.byLength = IntBuffer.wrap(positions);
+  } // WordBank(String[])
+
+  /**
+   * Wrap the answers of a mapped dictionary file.
+   *
+   * @param packed The packed answers, in list order.
+   * @param positions The positions of the answers, grouped by length.
+   * @param lengthStarts Where the positions of each length begin, and one past the last.
+   */
+  WordBank(LongBuffer packed, IntBuffer positions, int[] lengthStarts) {
+    this.words = null;
+    this.codes = packed;
+    this.byLength = positions;
+    this.starts = lengthStarts;
+  } // WordBank(LongBuffer, IntBuffer, int[])
+
+  // +----------------+---------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Load a word list into a bank.
+   *
+   * @param path The file, one word per line, as read by {@link WordLoader}.
+   * @return The bank.
+   * @throws IOException if the file cannot be read.
+   */
+  public static WordBank load(Path path) throws IOException {
+    return new WordBank(WordLoader.load(path).words());
+  } // load(Path)
+
+  // +---------+---------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Get a word by its position in the list.
+   *
+   * @param index The position.
+   * @return The word, in upper case.
+   * @throws IndexOutOfBoundsException if the index is not in the list.
+   */
+  public String get(int index) {
+    return (this.words != null)
+        ? this.words[index]
+        : WordSet.unpack(this.codes.get(index)).toUpperCase();
+  } // get(int)
+
+  /**
+   * Choose a word uniformly at random.
+   *
+   * @param rng The source of randomness.
+   * @return The position of the chosen word.
+   */
+  public int pick(Random rng) {
+    return rng.nextInt(this.size());
+  } // pick(Random)
+
+  /**
+   * Choose a word of one length uniformly at random, without looking at words of other lengths.
+   *
+   * @param rng The source of randomness.
+   * @param length The length, or 0 for any length.
+   * @return The position of the chosen word.
+   * @throws IllegalArgumentException if there are no words of that length.
+   */
+  public int pick(Random rng, int length) {
+    if (length == 0) {
+      return this.pick(rng);
+    } // if
+    if (this.size(length) == 0) {
+      throw new IllegalArgumentException("No answers of length " + length);
+    } // if
+    return this.byLength.get(this.starts[length] + rng.nextInt(this.size(length)));
+  } // pick(Random, int)
+
+  /**
+   * Get the positions of the words of one length.
+   *
+   * @param length The length.
+   * @return Their positions, in list order.
+   */
+  public int[] withLength(int length) {
+    int[] positions = new int[this.size(length)];
+    if (positions.length > 0) {
+      this.byLength.get(this.starts[length], positions);
+    } // if
+    return positions;
+  } // withLength(int)
+
+  /**
+   * Get the number of words of one length.
+   *
+   * @param length The length, or 0 for any length.
+   * @return The number of words of that length.
+   */
+  public int size(int length) {
+    if (length == 0) {
+      return this.size();
+    } // if
+    return (length > 0 && length < this.starts.length - 1)
+        ? this.starts[length + 1] - this.starts[length]
+        : 0;
+  } // size(int)
+
+  /**
+   * Get the number of words in the bank.
+   *
+   * @return The size.
+   */
+  public int size() {
+    return (this.words != null) ? this.words.length : this.codes.capacity();
+  } // size()
+
+  /**
+   * Get the positions of the words grouped by length, for writing a dictionary file.
+   *
+   * @return A view of the positions.
+   */
+  IntBuffer byLength() {
+    return this.byLength.duplicate();
+  } // byLength()
+
+  /**
+   * Get where the positions of each length begin, for writing a dictionary file.
+   *
+   * @param lengths The number of lengths to cover, from 0.
+   * @return The start of each length, and one past the last; lengths beyond the longest word
+   *     start at the end.
+   */
+  int[] lengthStarts(int lengths) {
+    int[] result = new int[lengths + 1];
+    for (int len = 0; len <= lengths; len++) {
+      result[len] = this.starts[Math.min(len, this.starts.length - 1)];
+    } // for
+    return result;
+  } // lengthStarts(int)
+} // class WordBank
@@ -0,0 +1,349 @@
+package edu.grinnell.csc207.util.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads a word list, one word per line, into the clean array every index is built from.
+ *
+ * <p>The file is read through a channel a fixed-size chunk at a time and scanned byte by byte,
+ * so loading takes time linear in the file and memory proportional only to the distinct words
+ * kept. Each line is trimmed and lower-cased once. Blank lines are skipped; lines that are not a
+ * word of at most {@link Feedback#MAX_LENGTH} letters a-z are rejected, and repeated words are
+ * dropped, keeping the first. The first {@link #MAX_PROBLEMS} rejected or repeated lines are
+ * reported by line number.
+ *
+ * <p>Positions in the loaded array, not line numbers, are what the word indices, pattern tables,
+ * and snapshots refer to, so every reader of a word list goes through this class.
+ *
+ * @author Andrew Fargo
+ */
+public final class WordLoader {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The most problems reported by line. */
+  public static final int MAX_PROBLEMS = 20;
+
+  /** Size of each chunk read from the file. */
+  private static final int CHUNK = 1 << 16;
+
+  /** The longest line kept for checking; anything longer is too long to be a word. */
+  private static final int LINE = 2 * Feedback.MAX_LENGTH;
+
+  /** Bits used for each letter when packing words to find repeats. */
+  private static final int BITS = 5;
+
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The name of the file, for reports. */
+  private final String name;
+
+  /** The words kept so far, in lower case, in the order first seen. */
+  private String[] words;
+
+  /** The number of words kept. */
+  private int count;
+
+  /** The packed words kept so far, open-addressed with linear probing. */
+  private long[] packed;
+
+  /** The number of packed words kept. */
+  private int packedCount;
+
+  /** The words kept so far that are too long to pack. */
+  private final Set<String> unpacked;
+
+  /** Descriptions of the first problems found. */
+  private final List<String> problems;
+
+  /** The number of lines rejected. */
+  private int rejected;
+
+  /** The number of repeated words dropped. */
+  private int duplicates;
+
+  /** The bytes of the current line, up to {@link #LINE}. */
+  private final byte[] line;
+
+  /** The number of bytes of the current line, which may exceed the buffer. */
+  private int lineLength;
+
+  /** The number of the current line, from 1. */
+  private int lineNumber;
+
+  // +-------------+---------------------------------------------------
+  // | Constructor |
+  // +-------------+
+
+  /**
+   * Start loading a file.
+   *
+   * @param path The file.
+   */
+  private WordLoader(Path path) {
+    Path file = path.getFileName();
+    this.name = (file == null) ? path.toString() : file.toString();
+    this.words = new String[1024];
+    this.packed = new long[2048];
+    this.unpacked = new HashSet<>();
+    this.problems = new ArrayList<>();
+    this.line = new byte[LINE];
+    this.lineNumber = 1;
+  } // WordLoader(Path)
+
+  // +----------------+---------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Load a word list.
+   *
+   * @param path The file, one word per line.
+   * @return The loaded list.
+   * @throws IOException if the file cannot be read.
+   */
+  public static WordLoader load(Path path) throws IOException {
+    WordLoader loader = new WordLoader(path);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer chunk = ByteBuffer.allocate(CHUNK);
+      byte[] bytes = chunk.array();
+      while (channel.read(chunk) >= 0) {
+        for (int i = 0; i < chunk.position(); i++) {
+          loader.accept(bytes[i]);
+        } // for
+        chunk.clear();
+      } // while
+    } // try
+    loader.endLine();
+    loader.words = Arrays.copyOf(loader.words, loader.count);
+    loader.packed = null;
+    loader.unpacked.clear();
+    return loader;
+  } // load(Path)
+
+  /**
+   * Determine whether a byte is blank space.
+   *
+   * @param b The byte.
+   * @return true for spaces, tabs, carriage returns, and other control characters.
+   */
+  private static boolean blank(byte b) {
+    return b >= 0 && b <= ' ';
+  } // blank(byte)
+
+  /**
+   * Gather the problems found loading some lists.
+   *
+   * @param loaders The loaded lists.
+   * @return Their problems, in order, with a summary of each list that had more than
+   *     {@link #MAX_PROBLEMS} of them.
+   */
+  public static List<String> problems(WordLoader... loaders) {
+    List<String> found = new ArrayList<>();
+    for (WordLoader loader : loaders) {
+      found.addAll(loader.problems);
+    } // for
+    for (WordLoader loader : loaders) {
+      if (loader.rejected + loader.duplicates > loader.problems.size()) {
+        found.add(loader.toString());
+      } // if
+    } // for
+    return List.copyOf(found);
+  } // problems(WordLoader...)
+
+  // +---------+---------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Take the next byte of the file.
+   *
+   * @param b The byte.
+   */
+  private void accept(byte b) {
+    if (b == '\n') {
+      this.endLine();
+      this.lineNumber++;
+    } else {
+      if (this.lineLength < LINE) {
+        this.line[this.lineLength] = b;
+      } // if
+      this.lineLength++;
+    } // if/else
+  } // accept(byte)
+
+  /**
+   * Check and keep the current line, then start the next.
+   */
+  private void endLine() {
+    int length = this.lineLength;
+    this.lineLength = 0;
+    if (length > LINE) {
+      this.reject("too long to be a word");
+      return;
+    } // if
+
+    int start = 0;
+    int end = length;
+    while (start < end && WordLoader.blank(this.line[start])) {
+      start++;
+    } // while
+    while (end > start && WordLoader.blank(this.line[end - 1])) {
+      end--;
+    } // while
+    if (start == end) {
+      return;
+    } // if
+    if (end - start > Feedback.MAX_LENGTH) {
+      this.reject("too long to be a word");
+      return;
+    } // if
+
+    for (int i = start; i < end; i++) {
+      int letter = (this.line[i] | 0x20) - 'a';
+      if (letter < 0 || letter >= 26) {
+        this.reject("not a word of letters a-z: '"
+            + new String(this.line, start, end - start, StandardCharsets.UTF_8) + "'");
+        return;
+      } // if
+    } // for
+    long code = 0;
+    for (int i = start; i < end; i++) {
+      this.line[i] |= 0x20;
+      code = (code << BITS) | (this.line[i] - 'a' + 1);
+    } // for
+
+    // Only build the string once the word is known to be new.
+    boolean fresh;
+    String word = null;
+    if (end - start <= WordSet.MAX_PACKED) {
+      fresh = this.addPacked(code);
+    } else {
+      word = new String(this.line, start, end - start, StandardCharsets.US_ASCII);
+      fresh = this.unpacked.add(word);
+    } // if/else
+    if (!fresh) {
+      this.duplicates++;
+      this.report("repeats an earlier word");
+      return;
+    } // if
+    if (word == null) {
+      word = new String(this.line, start, end - start, StandardCharsets.US_ASCII);
+    } // if
+    if (this.count == this.words.length) {
+      this.words = Arrays.copyOf(this.words, 2 * this.count);
+    } // if
+    this.words[this.count++] = word;
+  } // endLine()
+
+  /**
+   * Add a packed word to the set of words seen, growing the set if it gets half full.
+   *
+   * @param code The packed word, never 0.
+   * @return true if the word had not been seen.
+   */
+  private boolean addPacked(long code) {
+    int mask = this.packed.length - 1;
+    int slot = (int) ((code * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    while (this.packed[slot] != 0) {
+      if (this.packed[slot] == code) {
+        return false;
+      } // if
+      slot = (slot + 1) & mask;
+    } // while
+    this.packed[slot] = code;
+    if (++this.packedCount * 2 > this.packed.length) {
+      long[] old = this.packed;
+      this.packed = new long[2 * old.length];
+      this.packedCount = 0;
+      for (long key : old) {
+        if (key != 0) {
+          this.addPacked(key);
+        } // if
+      } // for
+    } // if
+    return true;
+  } // addPacked(long)
+
+  /**
+   * Reject the current line.
+   *
+   * @param reason Why.
+   */
+  private void reject(String reason) {
+    this.rejected++;
+    this.report(reason);
+  } // reject(String)
+
+  /**
+   * Note a problem with the current line, if not too many have been noted already.
+   *
+   * @param reason The problem.
+   */
+  private void report(String reason) {
+    if (this.problems.size() < MAX_PROBLEMS) {
+      this.problems.add(this.name + ":" + this.lineNumber + ": " + reason);
+    } // if
+  } // report(String)
+
+  /**
+   * Get the words kept.
+   *
+   * @return The distinct words, in lower case, in the order first seen.
+   */
+  public String[] words() {
+    return this.words.clone();
+  } // words()
+
+  /**
+   * Get the first problems found.
+   *
+   * @return Up to {@link #MAX_PROBLEMS} descriptions, each naming the file and line.
+   */
+  public List<String> problems() {
+    return Collections.unmodifiableList(this.problems);
+  } // problems()
+
+  /**
+   * Get the number of lines rejected.
+   *
+   * @return The number of lines that were not words.
+   */
+  public int rejected() {
+    return this.rejected;
+  } // rejected()
+
+  /**
+   * Get the number of repeated words dropped.
+   *
+   * @return The number of lines that repeated an earlier word.
+   */
+  public int duplicates() {
+    return this.duplicates;
+  } // duplicates()
+
+  /**
+   * Summarize the load.
+   *
+   * @return The file name and the number of words kept, lines rejected, and repeats dropped.
+   */
+  @Override
+  public String toString() {
+    return this.name + ": " + this.count + " words, " + this.rejected + " rejected, "
+        + this.duplicates + " repeated";
+  } // toString()
+} // class WordLoader
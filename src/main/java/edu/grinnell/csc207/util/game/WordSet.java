@@ -0,0 +1,366 @@
+package edu.grinnell.csc207.util.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable, in-memory index of a list of words. Words made of at most
+ * {@link #MAX_PACKED} letters are packed five bits per letter into a single
+ * long and stored in an open-addressed hash table of words of the same
+ * length; anything else falls back to a map of strings. Lookups are case
+ * insensitive, never probe words of another length, and allocate nothing for
+ * packed words.
+ *
+ * <p>An index opened from a {@link DictionaryFile} instead holds only views of
+ * the mapped file: the packed word at each index, and the words sorted by
+ * packed code, found through the file's hash index or by binary search.
+ *
+ * @author Andrew Fargo
+ */
+public final class WordSet {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** The longest word that can be packed into a long. */
+  public static final int MAX_PACKED = 12;
+
+  /** Returned by {@link #pack(CharSequence)} when a word can't be packed. */
+  public static final long UNPACKABLE = -1L;
+
+  /** Marks an empty slot in the hash table. */
+  private static final long EMPTY = 0L;
+
+  /** Bits used for each letter. */
+  private static final int BITS = 5;
+
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The hash table of packed words of each length, or null if there are none. */
+  private final Table[] tables;
+
+  /** Words that could not be packed, and their index in the original list. */
+  private final Map<String, Integer> others;
+
+  /** The packed code of every word, by index in the original list. */
+  private final LongBuffer codes;
+
+  /** Words that could not be packed, in lower case, by index in the original list. */
+  private final Map<Integer, String> strays;
+
+  /**
+   * If mapped, the words sorted by packed code, as {@link DictionaryFile#RECORD}-byte records of
+   * the code and the index; otherwise null.
+   */
+  private final ByteBuffer records;
+
+  /** If mapped and hashed, one more than the record in each slot, or 0 if empty; otherwise null. */
+  private final IntBuffer hashed;
+
+  /** Number of distinct words stored. */
+  private final int size;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Build an index over the given words. Duplicates keep their first index.
+   *
+   * @param words The words, in list order.
+   */
+  public WordSet(String[] words) {
+    int[] counts = new int[MAX_PACKED + 1];
+    for (String word : words) {
+      if (word.length() <= MAX_PACKED) {
+        counts[word.length()]++;
+      } // if
+    } // for
+    this.tables = new Table[MAX_PACKED + 1];
+    for (int len = 1; len <= MAX_PACKED; len++) {
+      if (counts[len] > 0) {
+        this.tables[len] = new Table(counts[len]);
+      } // if
+    } // for
+    this.others = new HashMap<>();
+    long[] packed = new long[words.length];
+    this.codes = LongBuffer.wrap(packed);
+    this.strays = new HashMap<>();
+    this.records = null;
+    this.hashed = null;
+
+    int count = 0;
+    for (int i = 0; i < words.length; i++) {
+      long code = WordSet.pack(words[i]);
+      packed[i] = code;
+      if (code == UNPACKABLE) {
+        this.strays.put(i, words[i].toLowerCase());
+        if (this.others.putIfAbsent(words[i].toLowerCase(), i) == null) {
+          count++;
+        } // if
+      } else {
+        Table table = this.tables[words[i].length()];
+        int slot = table.slot(code);
+        if (table.keys[slot] == EMPTY) {
+          table.keys[slot] = code;
+          table.ordinals[slot] = i;
+          count++;
+        } // if
+      } // if/else
+    } // for
+    this.size = count;
+  } // WordSet(String[])
+
+  /**
+   * Wrap the guesses of a mapped dictionary file.
+   *
+   * @param packed The packed words, in list order.
+   * @param sorted The records, sorted by code.
+   * @param index The hash index of the records, or null to search them.
+   */
+  WordSet(LongBuffer packed, ByteBuffer sorted, IntBuffer index) {
+    this.tables = new Table[MAX_PACKED + 1];
+    this.others = Map.of();
+    this.codes = packed;
+    this.strays = Map.of();
+    this.records = sorted;
+    this.hashed = index;
+    this.size = sorted.capacity() / DictionaryFile.RECORD;
+  } // WordSet(LongBuffer, ByteBuffer, IntBuffer)
+
+  // +----------------+---------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Load a word list into an index.
+   *
+   * @param path The file, one word per line, as read by {@link WordLoader}.
+   * @return The index.
+   * @throws IOException if the file cannot be read.
+   */
+  public static WordSet load(Path path) throws IOException {
+    return new WordSet(WordLoader.load(path).words());
+  } // load(Path)
+
+  /**
+   * Pack a word into a long, five bits per letter, ignoring case.
+   *
+   * @param word The word.
+   * @return The packed code, or {@link #UNPACKABLE} if the word is empty,
+   *         too long, or contains something other than the letters a-z.
+   */
+  public static long pack(CharSequence word) {
+    int len = word.length();
+    if (len == 0 || len > MAX_PACKED) {
+      return UNPACKABLE;
+    } // if
+    long code = 0;
+    for (int i = 0; i < len; i++) {
+      int letter = (word.charAt(i) | 0x20) - 'a';
+      if (letter < 0 || letter >= 26) {
+        return UNPACKABLE;
+      } // if
+      code = (code << BITS) | (letter + 1);
+    } // for
+    return code;
+  } // pack(CharSequence)
+
+  /**
+   * Hash a packed word.
+   *
+   * @param code The packed word.
+   * @return Its hash, to be masked to a table's size.
+   */
+  static int hash(long code) {
+    return (int) ((code * 0x9E3779B97F4A7C15L) >>> 32);
+  } // hash(long)
+
+  /**
+   * Unpack a word packed by {@link #pack(CharSequence)}.
+   *
+   * @param code The packed code.
+   * @return The word, in lower case.
+   */
+  public static String unpack(long code) {
+    char[] letters = new char[(Long.SIZE - Long.numberOfLeadingZeros(code) + BITS - 1) / BITS];
+    long rest = code;
+    for (int i = letters.length - 1; i >= 0; i--) {
+      letters[i] = (char) ('a' + (rest & ((1 << BITS) - 1)) - 1);
+      rest >>>= BITS;
+    } // for
+    return new String(letters);
+  } // unpack(long)
+
+  // +---------+---------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Get a word by its index in the original list.
+   *
+   * @param index The index.
+   * @return The word, in lower case.
+   * @throws IndexOutOfBoundsException if there is no such index.
+   */
+  public String get(int index) {
+    long code = this.codes.get(index);
+    return (code == UNPACKABLE) ? this.strays.get(index) : WordSet.unpack(code);
+  } // get(int)
+
+  /**
+   * Get the length of the original list, counting duplicates.
+   *
+   * @return The number of indices.
+   */
+  public int length() {
+    return this.codes.capacity();
+  } // length()
+
+  /**
+   * Determine if a word is present, ignoring case.
+   *
+   * @param word The word.
+   * @return true if present, false otherwise.
+   */
+  public boolean contains(CharSequence word) {
+    return this.indexOf(word) >= 0;
+  } // contains(CharSequence)
+
+  /**
+   * Find where a word appeared in the original list, ignoring case.
+   *
+   * @param word The word.
+   * @return Its index, or -1 if absent.
+   */
+  public int indexOf(CharSequence word) {
+    long code = WordSet.pack(word);
+    if (code == UNPACKABLE) {
+      Integer index = this.others.get(word.toString().toLowerCase());
+      return (index == null) ? -1 : index;
+    } // if
+    if (this.records != null) {
+      return this.find(code);
+    } // if
+    Table table = this.tables[word.length()];
+    if (table == null) {
+      return -1;
+    } // if
+    int slot = table.slot(code);
+    return (table.keys[slot] == EMPTY) ? -1 : table.ordinals[slot];
+  } // indexOf(CharSequence)
+
+  /**
+   * Find a packed word in the mapped records.
+   *
+   * @param code The packed word.
+   * @return Its index, or -1 if absent.
+   */
+  private int find(long code) {
+    int record = DictionaryFile.RECORD;
+    if (this.hashed != null) {
+      int mask = this.hashed.capacity() - 1;
+      for (int slot = WordSet.hash(code) & mask; ; slot = (slot + 1) & mask) {
+        int entry = this.hashed.get(slot);
+        if (entry == 0) {
+          return -1;
+        } else if (this.records.getLong((entry - 1) * record) == code) {
+          return this.records.getInt((entry - 1) * record + Long.BYTES);
+        } // if/else
+      } // for
+    } // if
+    int lo = 0;
+    int hi = this.size - 1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      long found = this.records.getLong(mid * record);
+      if (found < code) {
+        lo = mid + 1;
+      } else if (found > code) {
+        hi = mid - 1;
+      } else {
+        return this.records.getInt(mid * record + Long.BYTES);
+      } // if/else
+    } // while
+    return -1;
+  } // find(long)
+
+  /**
+   * Get the number of distinct words.
+   *
+   * @return The size.
+   */
+  public int size() {
+    return this.size;
+  } // size()
+
+  /**
+   * Summarize the index.
+   *
+   * @return A short description.
+   */
+  @Override
+  public String toString() {
+    if (this.records != null) {
+      return "WordSet[size=" + this.size + ", mapped, "
+          + ((this.hashed == null) ? "sorted" : "slots=" + this.hashed.capacity()) + "]";
+    } // if
+    int slots = 0;
+    for (Table table : this.tables) {
+      slots += (table == null) ? 0 : table.keys.length;
+    } // for
+    return "WordSet[size=" + this.size + ", slots=" + slots
+        + ", unpacked=" + this.others.size() + "]";
+  } // toString()
+
+  // +---------------+-----------------------------------------------
+  // | Inner classes |
+  // +---------------+
+
+  /**
+   * The packed words of one length, open-addressed with linear probing.
+   */
+  private static final class Table {
+    /** Packed words. */
+    final long[] keys;
+
+    /** Index in the original list of the word in the same slot. */
+    final int[] ordinals;
+
+    /** Mask applied to hashes; table length minus one. */
+    final int mask;
+
+    /**
+     * Create an empty table, at most half full once every word is added.
+     *
+     * @param words The number of words it will hold.
+     */
+    Table(int words) {
+      int capacity = Integer.highestOneBit(words * 2 - 1) << 1;
+      this.keys = new long[capacity];
+      this.ordinals = new int[capacity];
+      this.mask = capacity - 1;
+    } // Table(int)
+
+    /**
+     * Find the slot holding a code, or the empty slot where it belongs.
+     *
+     * @param code A packed word.
+     * @return The slot.
+     */
+    int slot(long code) {
+      int slot = WordSet.hash(code) & this.mask;
+      while (this.keys[slot] != EMPTY && this.keys[slot] != code) {
+        slot = (slot + 1) & this.mask;
+      } // while
+      return slot;
+    } // slot(long)
+  } // class Table
+} // class WordSet
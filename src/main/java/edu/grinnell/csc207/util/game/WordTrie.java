@@ -0,0 +1,693 @@
+package edu.grinnell.csc207.util.game;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A set of words stored as a minimal acyclic automaton (a DAWG): a trie whose identical subtrees
+ * are stored once, so words sharing an ending share its letters as well as those sharing a
+ * beginning share theirs. It answers the same questions as {@link WordSet}, and also which
+ * words begin with a prefix.
+ *
+ * <p>The automaton is a single array of edges, four bytes each: the letter, whether the word may
+ * end after it, whether it is the last edge leaving its node, and where the edges of the node it
+ * leads to begin. Alongside each edge is the number of words through the edges before it in its
+ * node, so walking a word down the trie counts the words before it in alphabetical order: its
+ * rank, which numbers the words 0 to size - 1 with no gaps, a minimal perfect hash. The rank
+ * turns back into the word the same way, walking down by the counts.
+ *
+ * <p>Ranks are mapped to positions in the word list and back through two more arrays, so a trie
+ * of the checklist gives each guess the same position a {@link WordSet} would for pattern tables
+ * and snapshots, and stands in for the word set entirely. It is persisted to a binary file whose
+ * header records the checksum of the word file, and opening it memory-maps that file, so it
+ * takes no heap at all.
+ *
+ * <p>Only the letters a-z are stored, ignoring case, as {@link WordLoader} leaves them.
+ *
+ * @author Andrew Fargo
+ */
+public final class WordTrie {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** Identifies trie files ("WDG1"). */
+  private static final int MAGIC = 0x57444731;
+
+  /**
+   * Size of the header: magic, checksum, number of words, root, number of edges, and length of
+   * the word list.
+   */
+  private static final int HEADER = 4 + 8 + 4 + 4 + 4 + 4;
+
+  /** Bits of an edge holding the letter. */
+  private static final int LETTER = 0x1F;
+
+  /** Bit of an edge set if the word may end after it. */
+  private static final int FINAL = 1 << 5;
+
+  /** Bit of an edge set if it is the last edge of its node. */
+  private static final int LAST = 1 << 6;
+
+  /**
+   * Shift of the target, the index of the first edge of the next node, or 0 if it has none.
+   * Targets are below 2^24, so an edge is never negative.
+   */
+  private static final int TARGET = 7;
+
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The edges; index 0 is unused, so that 0 can mean "no edges". */
+  private final IntBuffer edges;
+
+  /** The number of words through the edges before each edge in its node. */
+  private final IntBuffer before;
+
+  /** The position in the word list of each word, by rank; the first, if repeated. */
+  private final IntBuffer order;
+
+  /** The rank of the word at each position in the word list. */
+  private final IntBuffer ranks;
+
+  /** The index of the first edge of the root. */
+  private final int root;
+
+  /** The number of words. */
+  private final int size;
+
+  // +-------------+---------------------------------------------------
+  // | Constructor |
+  // +-------------+
+
+  /**
+   * Wrap a buffer holding a complete trie file.
+   *
+   * @param buffer The header and edges.
+   */
+  private WordTrie(ByteBuffer buffer) {
+    this.size = buffer.getInt(12);
+    this.root = buffer.getInt(16);
+    int count = buffer.getInt(20);
+    int at = HEADER;
+    this.edges = buffer.slice(at, 4 * count).asIntBuffer();
+    at += 4 * count;
+    this.before = buffer.slice(at, 4 * count).asIntBuffer();
+    at += 4 * count;
+    this.order = buffer.slice(at, 4 * this.size).asIntBuffer();
+    at += 4 * this.size;
+    this.ranks = buffer.slice(at, 4 * buffer.getInt(24)).asIntBuffer();
+  } // WordTrie(ByteBuffer)
+
+  // +----------------+---------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Open the trie for a word file, building and saving it if the cached file is missing or
+   * stale.
+   *
+   * @param wordfile The words, as read by {@link WordLoader}.
+   * @param cache Where the trie is stored.
+   * @return The trie.
+   * @throws IOException if either file cannot be read or the cache cannot be written.
+   */
+  public static WordTrie open(Path wordfile, Path cache) throws IOException {
+    long sum = PatternTable.checksum(wordfile);
+    if (!WordTrie.isCurrent(cache, sum)) {
+      WordTrie.write(cache, WordLoader.load(wordfile).words(), sum);
+    } // if
+    try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+      return new WordTrie(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } // try
+  } // open(Path, Path)
+
+  /**
+   * Build a trie in memory.
+   *
+   * @param words The words, made of the letters a-z in either case, in list order.
+   * @return The trie.
+   * @throws IllegalArgumentException if a word has any other character.
+   */
+  public static WordTrie build(String[] words) {
+    Builder built = new Builder(words);
+    ByteBuffer buffer = ByteBuffer.allocate((int) WordTrie.bytes(built, words.length));
+    WordTrie.fill(buffer, built, words, 0);
+    return new WordTrie(buffer);
+  } // build(String[])
+
+  /**
+   * Build a trie offline, ahead of the first game that uses it.
+   *
+   * @param args The word file and where to save its trie.
+   * @throws IOException if either file cannot be read or the trie cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    PrintWriter pen = new PrintWriter(System.out, true);
+    if (args.length != 2) {
+      pen.println("Usage: WordTrie wordfile triefile");
+      return;
+    } // if
+    WordTrie trie = WordTrie.open(Path.of(args[0]), Path.of(args[1]));
+    pen.println(args[1] + ": " + trie);
+  } // main(String[])
+
+  /**
+   * Determine the size of a trie file.
+   *
+   * @param built The automaton.
+   * @param length The length of the word list.
+   * @return The size in bytes.
+   */
+  private static long bytes(Builder built, int length) {
+    return HEADER + 4L * (2L * built.count + built.words + length);
+  } // bytes(Builder, int)
+
+  /**
+   * Write a header, the edges and the positions of the words into a buffer.
+   *
+   * @param buffer The buffer, exactly {@link #bytes(Builder, int)} large and zeroed.
+   * @param built The automaton.
+   * @param words The words it was built from, in list order.
+   * @param sum The checksum of the word file.
+   */
+  private static void fill(ByteBuffer buffer, Builder built, String[] words, long sum) {
+    buffer.putInt(0, MAGIC);
+    buffer.putLong(4, sum);
+    buffer.putInt(12, built.words);
+    buffer.putInt(16, built.root);
+    buffer.putInt(20, built.count);
+    buffer.putInt(24, words.length);
+    buffer.slice(HEADER, 4 * built.count).asIntBuffer().put(built.out, 0, built.count);
+    buffer.slice(HEADER + 4 * built.count, 4 * built.count).asIntBuffer()
+        .put(built.before, 0, built.count);
+    // Rank the words with the edges just written; going backwards leaves each rank at the
+    // first position of its word.
+    WordTrie trie = new WordTrie(buffer);
+    for (int i = words.length - 1; i >= 0; i--) {
+      int rank = trie.rank(words[i]);
+      trie.order.put(rank, i);
+      trie.ranks.put(i, rank);
+    } // for
+  } // fill(ByteBuffer, Builder, String[], long)
+
+  /**
+   * Build a trie and save it to a file, replacing it atomically.
+   *
+   * @param cache Where to save it.
+   * @param words The words.
+   * @param sum The checksum of the word file.
+   * @throws IOException if the file cannot be written.
+   */
+  private static void write(Path cache, String[] words, long sum) throws IOException {
+    Builder built = new Builder(words);
+    Path tmp = PatternTable.tempFile(cache);
+    try {
+      try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ,
+          StandardOpenOption.WRITE)) {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+            WordTrie.bytes(built, words.length));
+        WordTrie.fill(buffer, built, words, sum);
+        buffer.force();
+      } // try
+      Files.move(tmp, cache, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    } // try/finally
+  } // write(Path, String[], long)
+
+  /**
+   * Determine if a cached trie was built from a file with the given checksum.
+   *
+   * @param cache The trie file.
+   * @param sum The checksum of the word file.
+   * @return true if the file exists and matches.
+   * @throws IOException if the file exists but cannot be read.
+   */
+  private static boolean isCurrent(Path cache, long sum) throws IOException {
+    if (!Files.isReadable(cache)) {
+      return false;
+    } // if
+    try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER);
+      int read = 0;
+      while (header.hasRemaining() && read >= 0) {
+        read = channel.read(header);
+      } // while
+      if (header.hasRemaining()) {
+        return false;
+      } // if
+      return header.getInt(0) == MAGIC && header.getLong(4) == sum
+          && channel.size() == HEADER + 4L * (2L * header.getInt(20) + header.getInt(12)
+              + header.getInt(24));
+    } // try
+  } // isCurrent(Path, long)
+
+  /**
+   * Find a character's letter.
+   *
+   * @param ch The character.
+   * @return Its position in the alphabet, ignoring case, or -1 if it is not a letter a-z.
+   */
+  private static int letter(char ch) {
+    int letter = (ch | 0x20) - 'a';
+    return (letter >= 0 && letter < 26) ? letter : -1;
+  } // letter(char)
+
+  // +---------+---------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Find the edge leaving a node with a letter.
+   *
+   * @param node The index of the node's first edge, or 0 if it has none.
+   * @param letter The letter.
+   * @return The index of the edge, or -1 if there is none.
+   */
+  private int find(int node, int letter) {
+    if (node == 0 || letter < 0) {
+      return -1;
+    } // if
+    for (int i = node; ; i++) {
+      int edge = this.edges.get(i);
+      int label = edge & LETTER;
+      if (label == letter) {
+        return i;
+      } // if
+      if (label > letter || (edge & LAST) != 0) {
+        return -1;
+      } // if
+    } // for
+  } // find(int, int)
+
+  /**
+   * Follow a prefix from the root.
+   *
+   * @param prefix The prefix, not empty.
+   * @return The edge reached by its last letter, or -1 if no word begins with it.
+   */
+  private int walk(CharSequence prefix) {
+    int node = this.root;
+    int edge = -1;
+    for (int i = 0; i < prefix.length(); i++) {
+      int at = this.find(node, WordTrie.letter(prefix.charAt(i)));
+      if (at < 0) {
+        return -1;
+      } // if
+      edge = this.edges.get(at);
+      node = edge >>> TARGET;
+    } // for
+    return edge;
+  } // walk(CharSequence)
+
+  /**
+   * Determine if a word is present, ignoring case.
+   *
+   * @param word The word.
+   * @return true if present, false otherwise.
+   */
+  public boolean contains(CharSequence word) {
+    if (word.length() == 0) {
+      return false;
+    } // if
+    int edge = this.walk(word);
+    return edge >= 0 && (edge & FINAL) != 0;
+  } // contains(CharSequence)
+
+  /**
+   * Count the words before a word in alphabetical order, ignoring case.
+   *
+   * @param word The word.
+   * @return Its rank, from 0 to size() - 1, or -1 if absent.
+   */
+  public int rank(CharSequence word) {
+    int node = this.root;
+    int rank = 0;
+    for (int i = 0; i < word.length(); i++) {
+      int at = this.find(node, WordTrie.letter(word.charAt(i)));
+      if (at < 0) {
+        return -1;
+      } // if
+      int edge = this.edges.get(at);
+      rank += this.before.get(at);
+      if ((edge & FINAL) != 0) {
+        if (i == word.length() - 1) {
+          return rank;
+        } // if
+        // The word ending here comes before every longer one.
+        rank++;
+      } // if
+      node = edge >>> TARGET;
+    } // for
+    return -1;
+  } // rank(CharSequence)
+
+  /**
+   * Find the word with a rank.
+   *
+   * @param rank The rank, from 0 to size() - 1.
+   * @return The word, in lower case.
+   */
+  private String word(int rank) {
+    StringBuilder word = new StringBuilder();
+    int node = this.root;
+    int rest = rank;
+    while (true) {
+      int at = node;
+      while ((this.edges.get(at) & LAST) == 0 && this.before.get(at + 1) <= rest) {
+        at++;
+      } // while
+      int edge = this.edges.get(at);
+      rest -= this.before.get(at);
+      word.append((char) ('a' + (edge & LETTER)));
+      if ((edge & FINAL) != 0) {
+        if (rest == 0) {
+          return word.toString();
+        } // if
+        rest--;
+      } // if
+      node = edge >>> TARGET;
+    } // while
+  } // word(int)
+
+  /**
+   * Find where a word appeared in the word list, ignoring case.
+   *
+   * @param word The word.
+   * @return Its position, the first if it was repeated, or -1 if absent.
+   */
+  public int indexOf(CharSequence word) {
+    int rank = this.rank(word);
+    return (rank < 0) ? -1 : this.order.get(rank);
+  } // indexOf(CharSequence)
+
+  /**
+   * Get a word by its position in the word list.
+   *
+   * @param index The position.
+   * @return The word, in lower case.
+   * @throws IndexOutOfBoundsException if there is no such position.
+   */
+  public String get(int index) {
+    return this.word(this.ranks.get(index));
+  } // get(int)
+
+  /**
+   * Get the length of the word list, counting repeats.
+   *
+   * @return The number of positions.
+   */
+  public int length() {
+    return this.ranks.capacity();
+  } // length()
+
+  /**
+   * Determine if any word begins with a prefix, ignoring case.
+   *
+   * @param prefix The prefix.
+   * @return true if some word begins with it; for the empty prefix, if there are any words.
+   */
+  public boolean hasPrefix(CharSequence prefix) {
+    return (prefix.length() == 0) ? this.size > 0 : this.walk(prefix) >= 0;
+  } // hasPrefix(CharSequence)
+
+  /**
+   * List the words beginning with a prefix, ignoring case, in alphabetical order.
+   *
+   * @param prefix The prefix.
+   * @param limit The most words to list.
+   * @return Up to that many words, in lower case.
+   */
+  public List<String> complete(CharSequence prefix, int limit) {
+    List<String> found = new ArrayList<>();
+    StringBuilder word = new StringBuilder(prefix.toString().toLowerCase());
+    if (prefix.length() == 0) {
+      this.collect(this.root, word, found, limit);
+      return found;
+    } // if
+    int edge = this.walk(prefix);
+    if (edge < 0) {
+      return found;
+    } // if
+    if ((edge & FINAL) != 0 && limit > 0) {
+      found.add(word.toString());
+    } // if
+    this.collect(edge >>> TARGET, word, found, limit);
+    return found;
+  } // complete(CharSequence, int)
+
+  /**
+   * Add the words below a node to a list, in alphabetical order, until it is full.
+   *
+   * @param node The index of the node's first edge, or 0 if it has none.
+   * @param word The letters leading to the node; restored before returning.
+   * @param found The list.
+   * @param limit The most words the list may hold.
+   */
+  private void collect(int node, StringBuilder word, List<String> found, int limit) {
+    if (node == 0) {
+      return;
+    } // if
+    int length = word.length();
+    for (int i = node; found.size() < limit; i++) {
+      int edge = this.edges.get(i);
+      word.append((char) ('a' + (edge & LETTER)));
+      if ((edge & FINAL) != 0) {
+        found.add(word.toString());
+      } // if
+      this.collect(edge >>> TARGET, word, found, limit);
+      word.setLength(length);
+      if ((edge & LAST) != 0) {
+        break;
+      } // if
+    } // for
+  } // collect(int, StringBuilder, List<String>, int)
+
+  /**
+   * Get the number of words.
+   *
+   * @return The size.
+   */
+  public int size() {
+    return this.size;
+  } // size()
+
+  /**
+   * Summarize the trie.
+   *
+   * @return A short description.
+   */
+  @Override
+  public String toString() {
+    return "WordTrie[size=" + this.size + ", edges=" + (this.edges.capacity() - 1)
+        + ", bytes=" + (HEADER + 4L * (2L * this.edges.capacity() + this.order.capacity()
+            + this.ranks.capacity())) + "]";
+  } // toString()
+
+  // +---------------+-----------------------------------------------
+  // | Inner classes |
+  // +---------------+
+
+  /**
+   * Builds the automaton from sorted words (Daciuk's incremental construction). Only the nodes
+   * along the last word added are kept open; as soon as a node can no longer change, its edges
+   * are laid out, or it becomes the identical node already laid out, so memory grows with the
+   * distinct nodes rather than with the words. Identical nodes hold the same words, so they
+   * share their counts too.
+   */
+  private static final class Builder {
+    /** The first edge of every node laid out, by its edges. */
+    private final Map<Edges, Integer> register;
+
+    /** The edges of the open node at each depth, the last one's target not yet known. */
+    private final int[][] open;
+
+    /** The number of edges of the open node at each depth. */
+    private final int[] counts;
+
+    /** Whether a word ends at the open node at each depth. */
+    private final boolean[] terminal;
+
+    /** The depth of the deepest open node. */
+    private int depth;
+
+    /** The number of words. */
+    private int words;
+
+    /** The edges laid out so far. */
+    private int[] out;
+
+    /** The number of words through the edges before each edge laid out, in its node. */
+    private int[] before;
+
+    /** The number of words below each node laid out, at the index of its first edge. */
+    private int[] below;
+
+    /** The number of edges laid out, counting the unused one at index 0. */
+    private int count;
+
+    /** The index of the first edge of the root, or 0 if there are no words. */
+    private int root;
+
+    /**
+     * Build the automaton.
+     *
+     * @param list The words, in any order and case; duplicates are ignored.
+     * @throws IllegalArgumentException if a word has a character other than a-z.
+     */
+    Builder(String[] list) {
+      String[] sorted = new String[list.length];
+      int longest = 0;
+      for (int i = 0; i < list.length; i++) {
+        sorted[i] = list[i].toLowerCase();
+        longest = Math.max(longest, sorted[i].length());
+      } // for
+      Arrays.sort(sorted);
+      this.register = new HashMap<>();
+      this.open = new int[longest + 1][26];
+      this.counts = new int[longest + 1];
+      this.terminal = new boolean[longest + 1];
+      this.out = new int[1024];
+      this.before = new int[1024];
+      this.below = new int[1024];
+      this.count = 1;
+
+      String previous = "";
+      for (String word : sorted) {
+        if (word.isEmpty() || word.equals(previous)) {
+          continue;
+        } // if
+        int common = 0;
+        while (common < Math.min(word.length(), previous.length())
+            && word.charAt(common) == previous.charAt(common)) {
+          common++;
+        } // while
+        this.close(common);
+        for (int i = common; i < word.length(); i++) {
+          int letter = WordTrie.letter(word.charAt(i));
+          if (letter < 0) {
+            throw new IllegalArgumentException("Not a word of letters a-z: " + word);
+          } // if
+          this.open[i][this.counts[i]++] = letter;
+          this.depth = i + 1;
+          this.counts[this.depth] = 0;
+          this.terminal[this.depth] = false;
+        } // for
+        this.terminal[this.depth] = true;
+        this.words++;
+        previous = word;
+      } // for
+      this.close(0);
+      this.root = this.layout(0);
+    } // Builder(String[])
+
+    /**
+     * Close every open node deeper than a depth, pointing its parent's last edge at it.
+     *
+     * @param keep The depth of the deepest node to leave open.
+     */
+    private void close(int keep) {
+      while (this.depth > keep) {
+        int target = this.layout(this.depth);
+        boolean ends = this.terminal[this.depth];
+        this.depth--;
+        this.open[this.depth][this.counts[this.depth] - 1] |=
+            (target << TARGET) | (ends ? FINAL : 0);
+      } // while
+    } // close(int)
+
+    /**
+     * Lay out the open node at a depth, unless an identical node has been laid out already.
+     *
+     * @param at The depth.
+     * @return The index of its first edge, or 0 if it has none.
+     * @throws IllegalArgumentException if there are too many edges to address.
+     */
+    private int layout(int at) {
+      int n = this.counts[at];
+      if (n == 0) {
+        return 0;
+      } // if
+      Edges key = new Edges(Arrays.copyOf(this.open[at], n));
+      Integer same = this.register.get(key);
+      if (same != null) {
+        return same;
+      } // if
+      // Targets stop short of the sign bit, since a negative edge means "no edge".
+      if ((long) this.count + n >= 1 << (Integer.SIZE - 1 - TARGET)) {
+        throw new IllegalArgumentException("Too many edges for a trie");
+      } // if
+      if (this.count + n > this.out.length) {
+        int length = Math.max(2 * this.out.length, this.count + n);
+        this.out = Arrays.copyOf(this.out, length);
+        this.before = Arrays.copyOf(this.before, length);
+        this.below = Arrays.copyOf(this.below, length);
+      } // if
+      int first = this.count;
+      int through = 0;
+      for (int i = 0; i < n; i++) {
+        int edge = key.edges[i];
+        this.before[this.count] = through;
+        this.out[this.count++] = edge | ((i == n - 1) ? LAST : 0);
+        through += ((edge & FINAL) != 0 ? 1 : 0) + this.below[edge >>> TARGET];
+      } // for
+      this.below[first] = through;
+      this.register.put(key, first);
+      return first;
+    } // layout(int)
+  } // class Builder
+
+  /**
+   * The edges of a node, compared by value so identical nodes can be found.
+   */
+  private static final class Edges {
+    /** The edges, without the bit marking the last. */
+    final int[] edges;
+
+    /**
+     * Wrap some edges.
+     *
+     * @param list The edges.
+     */
+    Edges(int[] list) {
+      this.edges = list;
+    } // Edges(int[])
+
+    /**
+     * Determine if another node has the same edges.
+     *
+     * @param other The object to compare.
+     * @return true if it is an Edges with equal edges.
+     */
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Edges && Arrays.equals(this.edges, ((Edges) other).edges);
+    } // equals(Object)
+
+    /**
+     * Hash the edges.
+     *
+     * @return The hash code.
+     */
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(this.edges);
+    } // hashCode()
+  } // class Edges
+} // class WordTrie
@@ -1,8 +1,10 @@
 package edu.grinnell.csc207.util.game;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Random;
 import java.util.function.Predicate;
 
@@ -13,73 +15,196 @@ import java.util.function.Predicate;
  * @author Andrew Fargo
  */
 public class Words implements Iterator<String>, Predicate<String> {
-  /** How many words exist in the wordlist. */
-  private final int length;
+  /** The word lists, shared with every other game using the same files. */
+  private final Dictionary dictionary;
 
   /** The random number generator. */
   private final Random rng;
 
-  /** The game options. */
-  private final GameOptions opts;
+  /** The length of the answers chosen, or 0 for any length. */
+  private final int length;
 
   /**
-   * Initializes Words with a wordlist and a checklist.
+   * Initializes Words with a wordlist and a checklist. The lists are only read from disk if no
+   * other game has already loaded the current versions of the same files.
    *
    * @param options Game options.
    * @throws IOException if wordlistPath or checklistPath are not readable files.
+   * @throws IllegalArgumentException if the wordlist has no words of the configured length.
    */
   public Words(GameOptions options) throws IOException {
-    // Initialize the paths
-    // ====================
-    this.opts = options;
-    this.length =
-        (int) Files.lines(this.opts.getWordlist()).limit(Integer.MAX_VALUE).parallel().count();
+    this(Dictionary.get(options), options.getSeed(), options.getWordLength());
+    if (!this.hasNext()) {
+      throw new IllegalArgumentException("No words of length " + this.length + " in "
+          + options.getWordlist());
+    } // if
+  } // Words(GameOptions)
+
+  /**
+   * Shares the word lists and word length of another Words, with its own random number
+   * generator. Nothing is read from disk.
+   *
+   * @param shared The Words whose lists are used.
+   * @param seed Seed for choosing words.
+   */
+  public Words(Words shared, long seed) {
+    this(shared.dictionary, seed, shared.length);
+  } // Words(Words, long)
 
-    this.rng = new Random(this.opts.getSeed());
-  } // Words(String, String)
+  /**
+   * Uses already-loaded word lists, with its own random number generator.
+   *
+   * @param lists The word lists.
+   * @param seed Seed for choosing words.
+   */
+  public Words(Dictionary lists, long seed) {
+    this(lists, seed, 0);
+  } // Words(Dictionary, long)
 
   /**
-   * Validates that the file is still readable.
+   * Uses already-loaded word lists, with its own random number generator, choosing answers of
+   * only one length.
    *
-   * @return true if the file is still readable.
+   * @param lists The word lists.
+   * @param seed Seed for choosing words.
+   * @param wordLength The length of the answers, or 0 for any length.
+   */
+  public Words(Dictionary lists, long seed, int wordLength) {
+    this.dictionary = lists;
+    this.rng = new Random(seed);
+    this.length = wordLength;
+  } // Words(Dictionary, long, int)
+
+  /**
+   * Determines whether there are any words to choose from.
+   *
+   * @return true if the wordlist has a word of the configured length.
    */
   @Override
   public boolean hasNext() {
-    return Files.isReadable(this.opts.getWordlist());
+    return this.dictionary.answers().size(this.length) > 0;
   } // hasNext()
 
   /**
-   * Gets the next word.
+   * Gets the next word. The wordlist is held in memory, so this does no I/O.
    *
-   * @return A pseudorandom word from the wordlist, exactly in the form specified by the list.
-   * @throws RuntimeException if the file becomes invalid.
+   * @return A pseudorandom word of the configured length from the wordlist, in upper case.
    */
   @Override
   public String next() {
-    int index = rng.nextInt(this.length);
-    try {
-      return Files.lines(this.opts.getWordlist()).skip(index).findFirst().get().toUpperCase();
-    } catch (IOException e) {
-      throw new RuntimeException("Unrecoverable IO ERROR: " + this.opts.getWordlist()
-          + " File no longer valid: " + e.getMessage());
-    } // try/catch
+    return this.answer(this.nextIndex());
   } // next()
 
   /**
-   * Checks if a word is present in the checklist; conducts a parallelized linear search.
+   * Chooses the next word, by position.
+   *
+   * @return The index of a pseudorandom word of the configured length from the wordlist.
+   */
+  public int nextIndex() {
+    return this.dictionary.answers().pick(this.rng, this.length);
+  } // nextIndex()
+
+  /**
+   * Gets a word from the wordlist.
+   *
+   * @param index The index of the word.
+   * @return The word, in upper case.
+   */
+  public String answer(int index) {
+    return this.dictionary.answers().get(index);
+  } // answer(int)
+
+  /**
+   * Gets the wordlist.
+   *
+   * @return Every possible answer.
+   */
+  public WordBank answers() {
+    return this.dictionary.answers();
+  } // answers()
+
+  /**
+   * Finds a guess in the checklist, through the trie if one is configured; its position is the
+   * same either way.
+   *
+   * @param word The word to look up.
+   * @return Its index in the checklist, or -1 if it is not a valid guess.
+   */
+  public int indexOf(String word) {
+    WordTrie trie = this.dictionary.trie();
+    return (trie == null) ? this.dictionary.guesses().indexOf(word) : trie.indexOf(word);
+  } // indexOf(String)
+
+  /**
+   * Gets a word from the checklist.
+   *
+   * @param index The index of the word, as from {@link #indexOf(String)}.
+   * @return The word, in lower case.
+   * @throws IndexOutOfBoundsException if there is no such index.
+   */
+  public String guess(int index) {
+    WordTrie trie = this.dictionary.trie();
+    return (trie == null) ? this.dictionary.guesses().get(index) : trie.get(index);
+  } // guess(int)
+
+  /**
+   * Gets the number of indices in the checklist.
+   *
+   * @return The length of the checklist, counting duplicates.
+   */
+  public int guessCount() {
+    WordTrie trie = this.dictionary.trie();
+    return (trie == null) ? this.dictionary.guesses().length() : trie.length();
+  } // guessCount()
+
+  /**
+   * Looks up precomputed feedback.
+   *
+   * @param answer The index of the answer in the wordlist.
+   * @param guess The index of the guess in the checklist.
+   * @return The pattern, or {@link PatternTable#NONE} if it must be computed.
+   */
+  public int lookup(int answer, int guess) {
+    PatternTable patterns = this.dictionary.patterns();
+    return (patterns == null) ? PatternTable.NONE : patterns.get(answer, guess);
+  } // lookup(int, int)
+
+  /**
+   * Checks if a word is present in the checklist; a constant-time lookup in the index built when
+   * this object was created, or a walk down the trie if one is configured. Games check guesses
+   * with {@link #indexOf(String)} instead, since they need the guess's position.
    *
    * @param word The word to check.
    * @return true if it is present, false otherwise.
-   * @throws RuntimeException if the file becomes invalid.
    */
   @Override
   public boolean test(String word) {
-    try {
-      String lower = word.toLowerCase();
-      return Files.lines(this.opts.getChecklist()).parallel().anyMatch((e) -> lower.equals(e));
-    } catch (IOException e) {
-      throw new RuntimeException("Unrecoverable IO ERROR: " + this.opts.getChecklist()
-          + " File no longer valid: " + e.getMessage());
-    } // try/catch
+    WordTrie trie = this.dictionary.trie();
+    return (trie == null) ? this.dictionary.guesses().contains(word) : trie.contains(word);
   } // pred(String)
+
+  /**
+   * Lists valid guesses beginning with a prefix, for hints and completion. With a trie this
+   * visits only the matching words; otherwise it scans the whole checklist.
+   *
+   * @param prefix The prefix, in either case.
+   * @param limit The most words to list.
+   * @return Up to that many guesses, in lower case, in alphabetical order.
+   */
+  public List<String> complete(String prefix, int limit) {
+    WordTrie trie = this.dictionary.trie();
+    if (trie != null) {
+      return trie.complete(prefix, limit);
+    } // if
+    String start = prefix.toLowerCase();
+    WordSet guesses = this.dictionary.guesses();
+    List<String> found = new ArrayList<>();
+    for (int i = 0; i < guesses.length(); i++) {
+      if (guesses.get(i).startsWith(start)) {
+        found.add(guesses.get(i));
+      } // if
+    } // for
+    Collections.sort(found);
+    return found.subList(0, Math.min(limit, found.size()));
+  } // complete(String, int)
 } // class Words
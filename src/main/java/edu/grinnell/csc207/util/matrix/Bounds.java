@@ -0,0 +1,94 @@
+package edu.grinnell.csc207.util.matrix;
+
+/**
+ * Bounds checks shared by the matrices of this package, so that they reject the same cells and
+ * lines.
+ *
+ * @author Andrew Fargo
+ */
+final class Bounds {
+  // +-------------+---------------------------------------------------
+  // | Constructor |
+  // +-------------+
+
+  /**
+   * Nothing to construct; every method is static.
+   */
+  private Bounds() {
+  } // Bounds()
+
+  // +----------------+---------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Find a cell of a matrix kept row by row in a single array.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param height The height of the matrix.
+   * @param width The width of the matrix.
+   *
+   * @return the index of the cell.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  static int index(int row, int col, int height, int width) throws IndexOutOfBoundsException {
+    if (row < 0 || row >= height || col < 0 || col >= width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    return row * width + col;
+  } // index(int, int, int, int)
+
+  /**
+   * Check the line filled by {@link Matrix#fillLine}: it stops at the first step that reaches
+   * the end row or column, and every cell before then must be in the matrix. A matrix that finds
+   * cells by arithmetic would otherwise write a cell of some other row for a column past either
+   * edge.
+   *
+   * @param matrix The matrix to fill.
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   *
+   * @return the number of cells on the line.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate, or the line
+   *     would leave the matrix, or never end, before reaching the end row or column.
+   */
+  static int line(Matrix<?> matrix, int startRow, int startCol, int deltaRow, int deltaCol,
+      int endRow, int endCol) throws IndexOutOfBoundsException {
+    if (startRow < 0 || startCol < 0 || endRow > matrix.height() || endCol > matrix.width()) {
+      throw new IndexOutOfBoundsException("Error: Rows or columns are inappropriate.");
+    } // if
+    long steps = Math.min(Bounds.steps(startRow, deltaRow, endRow),
+        Bounds.steps(startCol, deltaCol, endCol));
+    if (steps == Long.MAX_VALUE || (steps > 0
+        && (startRow + (steps - 1) * deltaRow < 0 || startCol + (steps - 1) * deltaCol < 0))) {
+      throw new IndexOutOfBoundsException("Error: The line leaves the matrix.");
+    } // if
+    return (int) steps;
+  } // line(Matrix<?>, int, int, int, int, int, int)
+
+  /**
+   * Count the steps of a line before one coordinate reaches its end.
+   *
+   * @param start Where the coordinate starts.
+   * @param delta How much it changes in each step.
+   * @param end Where it stops (exclusive).
+   *
+   * @return the number of steps, or Long.MAX_VALUE if it never reaches the end.
+   */
+  private static long steps(int start, int delta, int end) {
+    if (start >= end) {
+      return 0;
+    } else if (delta <= 0) {
+      return Long.MAX_VALUE;
+    } else {
+      return ((long) end - start + delta - 1) / delta;
+    } // if/else
+  } // steps(int, int, int)
+} // class Bounds
@@ -0,0 +1,453 @@
+package edu.grinnell.csc207.util.matrix;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A matrix of bytes, stored unboxed in a single row-major array.
+ *
+ * <p>Use {@link #getByte(int, int)} and {@link #setByte(int, int, byte)} to avoid boxing. Since a
+ * cell always holds a byte, storing null throws a NullPointerException. Equal matrices have
+ * the same hash code as an equal {@link MatrixV0}.
+ *
+ * @author Andrew Fargo
+ */
+public class ByteMatrix implements Matrix<Byte> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The width of the matrix. */
+  int width;
+
+  /** The height of the matrix. */
+  int height;
+
+  /** The default value to fill. */
+  byte def;
+
+  /** The cells, row by row. */
+  byte[] cells;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given value as the default.
+   *
+   * @param widthInput The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput The default value, used to fill all the cells.
+   *
+   * @throws NegativeArraySizeException If either the width or height are not positive.
+   */
+  public ByteMatrix(int widthInput, int heightInput, byte defInput)
+      throws NegativeArraySizeException {
+    if (widthInput <= 0 || heightInput <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+
+    this.width = widthInput;
+    this.height = heightInput;
+    this.def = defInput;
+    this.cells = new byte[widthInput * heightInput];
+    Arrays.fill(this.cells, defInput);
+  } // ByteMatrix(int, int, byte)
+
+  // +-------------------+-------------------------------------------
+  // | Primitive methods |
+  // +-------------------+
+
+  /**
+   * Get the byte at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the byte at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public byte getByte(int row, int col) throws IndexOutOfBoundsException {
+    return this.cells[this.index(row, col)];
+  } // getByte(int, int)
+
+  /**
+   * Set the byte at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The byte to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  public void setByte(int row, int col, byte val) throws IndexOutOfBoundsException {
+    this.cells[this.index(row, col)] = val;
+  } // setByte(int, int, byte)
+
+  /**
+   * Find a cell in the array.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the index of the cell.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  private int index(int row, int col) throws IndexOutOfBoundsException {
+    return Bounds.index(row, col, this.height, this.width);
+  } // index(int, int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  @Override
+  public Byte get(int row, int col) throws IndexOutOfBoundsException {
+    return this.getByte(row, col);
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   * @throws NullPointerException If the value is null.
+   */
+  @Override
+  public void set(int row, int col, Byte val) throws IndexOutOfBoundsException {
+    this.setByte(row, col, val);
+  } // set(int, int, Byte)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  @Override
+  public void insertRow(int row) throws IndexOutOfBoundsException {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+
+    byte[] newCells = new byte[(this.height + 1) * this.width];
+    System.arraycopy(this.cells, 0, newCells, 0, row * this.width);
+    Arrays.fill(newCells, row * this.width, (row + 1) * this.width, this.def);
+    System.arraycopy(this.cells, row * this.width, newCells, (row + 1) * this.width,
+        (this.height - row) * this.width);
+
+    this.cells = newCells;
+    this.height++;
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   * @throws NullPointerException If any of the values is null.
+   */
+  @Override
+  public void insertRow(int row, Byte[] vals)
+      throws IndexOutOfBoundsException, ArraySizeException {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+
+    if (vals.length != this.width) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+
+    this.insertRow(row);
+    for (int col = 0; col < this.width; col++) {
+      this.cells[row * this.width + col] = vals[col];
+    } // for
+  } // insertRow(int, Byte[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  @Override
+  public void insertCol(int col) throws IndexOutOfBoundsException {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+
+    int newWidth = this.width + 1;
+    byte[] newCells = new byte[this.height * newWidth];
+    for (int row = 0; row < this.height; row++) {
+      System.arraycopy(this.cells, row * this.width, newCells, row * newWidth, col);
+      newCells[row * newWidth + col] = this.def;
+      System.arraycopy(this.cells, row * this.width + col, newCells, row * newWidth + col + 1,
+          this.width - col);
+    } // for
+
+    this.cells = newCells;
+    this.width = newWidth;
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   * @throws NullPointerException If any of the values is null.
+   */
+  @Override
+  public void insertCol(int col, Byte[] vals)
+      throws IndexOutOfBoundsException, ArraySizeException {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+
+    if (vals.length != this.height) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+
+    this.insertCol(col);
+    for (int row = 0; row < this.height; row++) {
+      this.cells[row * this.width + col] = vals[row];
+    } // for
+  } // insertCol(int, Byte[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *         height.
+   */
+  @Override
+  public void deleteRow(int row) throws IndexOutOfBoundsException {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+
+    byte[] newCells = new byte[(this.height - 1) * this.width];
+    System.arraycopy(this.cells, 0, newCells, 0, row * this.width);
+    System.arraycopy(this.cells, (row + 1) * this.width, newCells, row * this.width,
+        (this.height - row - 1) * this.width);
+
+    this.cells = newCells;
+    this.height--;
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *         width.
+   */
+  @Override
+  public void deleteCol(int col) throws IndexOutOfBoundsException {
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+
+    int newWidth = this.width - 1;
+    byte[] newCells = new byte[this.height * newWidth];
+    for (int row = 0; row < this.height; row++) {
+      System.arraycopy(this.cells, row * this.width, newCells, row * newWidth, col);
+      System.arraycopy(this.cells, row * this.width + col + 1, newCells, row * newWidth + col,
+          newWidth - col);
+    } // for
+
+    this.cells = newCells;
+    this.width = newWidth;
+  } // deleteCol(int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   * @throws NullPointerException If the value is null.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, Byte val)
+      throws IndexOutOfBoundsException {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+
+    byte c = val;
+    for (int row = startRow; row < endRow && startCol < endCol; row++) {
+      Arrays.fill(this.cells, row * this.width + startCol, row * this.width + endCol, c);
+    } // for
+  } // fillRegion(int, int, int, int, Byte)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal), stopping when the current row or column equals
+   * or exceeds endRow or endCol, respectively.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate, or the line
+   *     would leave the matrix, or never end, before reaching the end row or column; nothing is
+   *     filled then.
+   * @throws NullPointerException If the value is null.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, Byte val) {
+    // A column past either edge would be a cell of another row, so refuse the line up front.
+    Bounds.line(this, startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+
+    byte c = val;
+    int row = startRow;
+    int col = startCol;
+    while (row < endRow && col < endCol) {
+      this.cells[this.index(row, col)] = c;
+      row += deltaRow;
+      col += deltaCol;
+    } // while
+  } // fillLine(int, int, int, int, int, int, Byte)
+
+  /**
+   * Make a copy of the matrix.
+   *
+   * @return a copy of the matrix.
+   */
+  @Override
+  public ByteMatrix clone() {
+    ByteMatrix copy = new ByteMatrix(this.width, this.height, this.def);
+    System.arraycopy(this.cells, 0, copy.cells, 0, this.cells.length);
+    return copy;
+  } // clone()
+
+  /**
+   * Copy every cell of this matrix into another, placing this matrix's top left corner at the
+   * given row and column of the other. Copies a row at a time if the other is also a ByteMatrix.
+   *
+   * @param dest The matrix to copy into.
+   * @param row The row of dest to receive the top row.
+   * @param col The column of dest to receive the left column.
+   *
+   * @throws IndexOutOfBoundsException If this matrix does not fit in dest at that place.
+   */
+  @Override
+  public void copyInto(Matrix<Byte> dest, int row, int col) throws IndexOutOfBoundsException {
+    if (!(dest instanceof ByteMatrix)) {
+      Matrix.super.copyInto(dest, row, col);
+      return;
+    } // if
+    ByteMatrix target = (ByteMatrix) dest;
+    if (row < 0 || col < 0 || row + this.height > target.height
+        || col + this.width > target.width) {
+      throw new IndexOutOfBoundsException("Error: matrix does not fit at " + row + ", " + col);
+    } // if
+    for (int r = 0; r < this.height; r++) {
+      System.arraycopy(this.cells, r * this.width, target.cells, (row + r) * target.width + col,
+          this.width);
+    } // for
+  } // copyInto(Matrix<Byte>, int, int)
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *         false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (other instanceof ByteMatrix) {
+      ByteMatrix bytes = (ByteMatrix) other;
+      return this.width == bytes.width && this.height == bytes.height
+          && Arrays.equals(this.cells, bytes.cells);
+    } // if
+    if (other instanceof Matrix) {
+      Matrix<?> otherMatrix = (Matrix<?>) other;
+      if (this.width != otherMatrix.width() || this.height != otherMatrix.height()) {
+        return false;
+      } // if
+      for (int row = 0; row < this.height; row++) {
+        for (int col = 0; col < this.width; col++) {
+          if (!Objects.equals(this.cells[row * this.width + col], otherMatrix.get(row, col))) {
+            return false;
+          } // if
+        } // for col
+      } // for row
+      return true;
+    } // if
+    return false;
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, the same way {@link MatrixV0#hashCode()} does.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    int multiplier = 7;
+    int code = this.width + multiplier * this.height;
+    for (byte c : this.cells) {
+      code = code * multiplier + Byte.hashCode(c);
+    } // for
+    return code;
+  } // hashCode()
+} // class ByteMatrix
@@ -0,0 +1,342 @@
+package edu.grinnell.csc207.util.matrix;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel versions of the whole-matrix operations, for matrices of millions of cells.
+ *
+ * <p>Each operation splits the matrix into blocks of rows and works on the blocks with
+ * fork/join. Matrices of at most {@link #THRESHOLD} cells are handled sequentially on the
+ * calling thread, without handing them to a pool, since splitting them costs more than it
+ * saves. The results are always the same as the sequential methods of {@link MatrixV0}: in
+ * particular, {@link #hashCode(Matrix)} hashes each block separately and combines the blocks so
+ * the result is exactly {@link MatrixV0#hashCode()}.
+ *
+ * <p>The matrix must not be changed by another thread while an operation runs, and
+ * {@link Matrix#set(int, int, Object)} must be safe to call on different rows at once, as it is
+ * for every matrix in this package.
+ *
+ * @author Andrew Fargo
+ */
+public class Matrices {
+  // +-----------+---------------------------------------------------
+  // | Constants |
+  // +-----------+
+
+  /** Largest number of cells handled as one block. */
+  public static final int THRESHOLD = 1 << 16;
+
+  /** The multiplier of {@link MatrixV0#hashCode()}. */
+  private static final int MULTIPLIER = 7;
+
+  // +-------------+---------------------------------------------------
+  // | Constructor |
+  // +-------------+
+
+  /**
+   * Nothing to construct; every method is static.
+   */
+  private Matrices() {
+  } // Matrices()
+
+  // +----------------+---------------------------------------------
+  // | Static methods |
+  // +----------------+
+
+  /**
+   * Fill a rectangular region of a matrix, in parallel if it is large.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param matrix The matrix.
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  public static <T> void fillRegion(Matrix<T> matrix, int startRow, int startCol, int endRow,
+      int endCol, T val) throws IndexOutOfBoundsException {
+    if (startRow < 0 || startCol < 0 || endRow > matrix.height() || endCol > matrix.width()) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    if (startRow >= endRow || startCol >= endCol) {
+      return;
+    } // if
+    if (!Matrices.splits(startRow, endRow, endCol - startCol)) {
+      matrix.fillRegion(startRow, startCol, endRow, endCol, val);
+      return;
+    } // if
+    ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+      @Override
+      protected void compute() {
+        Matrices.fill(matrix, startRow, startCol, endRow, endCol, val);
+      } // compute()
+    });
+  } // fillRegion(Matrix<T>, int, int, int, int, T)
+
+  /**
+   * Fill a block of rows, splitting it in half first if it is large.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param matrix The matrix.
+   * @param lo The first row (inclusive).
+   * @param startCol The left edge (inclusive).
+   * @param hi The last row (exclusive).
+   * @param endCol The right edge (exclusive).
+   * @param val The value to store.
+   */
+  private static <T> void fill(Matrix<T> matrix, int lo, int startCol, int hi, int endCol,
+      T val) {
+    if (Matrices.splits(lo, hi, endCol - startCol)) {
+      int mid = (lo + hi) >>> 1;
+      RecursiveAction.invokeAll(new RecursiveAction() {
+        @Override
+        protected void compute() {
+          Matrices.fill(matrix, lo, startCol, mid, endCol, val);
+        } // compute()
+      }, new RecursiveAction() {
+        @Override
+        protected void compute() {
+          Matrices.fill(matrix, mid, startCol, hi, endCol, val);
+        } // compute()
+      });
+      return;
+    } // if
+    matrix.fillRegion(lo, startCol, hi, endCol, val);
+  } // fill(Matrix<T>, int, int, int, int, T)
+
+  /**
+   * Determine if two matrices have the same width, height, and equal elements, comparing blocks
+   * of rows in parallel if they are large.
+   *
+   * @param one One matrix.
+   * @param other The other.
+   *
+   * @return true if they are equal; false otherwise.
+   */
+  public static boolean equals(Matrix<?> one, Matrix<?> other) {
+    if (one.width() != other.width() || one.height() != other.height()) {
+      return false;
+    } // if
+    Compare all = new Compare(one, other, 0, one.height());
+    return Matrices.splits(0, one.height(), one.width())
+        ? ForkJoinPool.commonPool().invoke(all)
+        : all.compute();
+  } // equals(Matrix<?>, Matrix<?>)
+
+  /**
+   * Compute the hash code of a matrix, in parallel if it is large. The result is the same as
+   * {@link MatrixV0#hashCode()} for an equal matrix.
+   *
+   * @param matrix The matrix.
+   *
+   * @return the hash code.
+   */
+  public static int hashCode(Matrix<?> matrix) {
+    Hasher all = new Hasher(matrix, 0, matrix.height());
+    Hash cells = Matrices.splits(0, matrix.height(), matrix.width())
+        ? ForkJoinPool.commonPool().invoke(all)
+        : all.compute();
+    Hash start = new Hash(matrix.width() + MULTIPLIER * matrix.height(), 0);
+    return Hash.combine(start, cells).code;
+  } // hashCode(Matrix<?>)
+
+  /**
+   * Determine whether a block of rows is large enough to split.
+   *
+   * @param lo The first row (inclusive).
+   * @param hi The last row (exclusive).
+   * @param width The number of columns in each row.
+   *
+   * @return true if the block has more than one row and more than {@link #THRESHOLD} cells.
+   */
+  private static boolean splits(int lo, int hi, int width) {
+    return hi - lo > 1 && (long) (hi - lo) * width > THRESHOLD;
+  } // splits(int, int, int)
+
+  /**
+   * Raise an integer to a power, wrapping on overflow as int multiplication does.
+   *
+   * @param base The base.
+   * @param exponent The exponent, at least 0.
+   *
+   * @return base to the exponent, modulo 2 to the 32.
+   */
+  static int pow(int base, long exponent) {
+    int result = 1;
+    int square = base;
+    for (long e = exponent; e > 0; e >>>= 1) {
+      if ((e & 1) != 0) {
+        result *= square;
+      } // if
+      square *= square;
+    } // for
+    return result;
+  } // pow(int, long)
+
+  // +---------------+-----------------------------------------------
+  // | Inner classes |
+  // +---------------+
+
+  /**
+   * The hash of a run of cells, starting from 0, and the number of non-null cells hashed. Runs
+   * combine like the sequential hash: each non-null cell multiplies the hash so far by the
+   * multiplier, so the hash of a run placed after another is the first hash times the multiplier
+   * to the number of cells in the second, plus the second hash.
+   */
+  private static final class Hash {
+    /** The hash of the run. */
+    final int code;
+
+    /** The number of non-null cells in the run. */
+    final long count;
+
+    /**
+     * Record the hash of a run.
+     *
+     * @param hash The hash.
+     * @param cells The number of non-null cells.
+     */
+    Hash(int hash, long cells) {
+      this.code = hash;
+      this.count = cells;
+    } // Hash(int, long)
+
+    /**
+     * Hash one run followed by another.
+     *
+     * @param first The first run.
+     * @param second The run after it.
+     *
+     * @return the hash of both runs.
+     */
+    static Hash combine(Hash first, Hash second) {
+      return new Hash(first.code * Matrices.pow(MULTIPLIER, second.count) + second.code,
+          first.count + second.count);
+    } // combine(Hash, Hash)
+  } // class Hash
+
+  /**
+   * Hashes a block of rows. Tasks are never serialized.
+   */
+  @SuppressWarnings("serial")
+  private static final class Hasher extends RecursiveTask<Hash> {
+    /** The matrix. */
+    private final Matrix<?> matrix;
+
+    /** First row (inclusive). */
+    private final int lo;
+
+    /** Last row (exclusive). */
+    private final int hi;
+
+    /**
+     * Create a task for a block of rows.
+     *
+     * @param of The matrix.
+     * @param from First row (inclusive).
+     * @param to Last row (exclusive).
+     */
+    Hasher(Matrix<?> of, int from, int to) {
+      this.matrix = of;
+      this.lo = from;
+      this.hi = to;
+    } // Hasher(Matrix<?>, int, int)
+
+    /**
+     * Hash the block, splitting it if large.
+     *
+     * @return The hash of the block.
+     */
+    @Override
+    protected Hash compute() {
+      if (Matrices.splits(this.lo, this.hi, this.matrix.width())) {
+        int mid = (this.lo + this.hi) >>> 1;
+        Hasher left = new Hasher(this.matrix, this.lo, mid);
+        left.fork();
+        Hash right = new Hasher(this.matrix, mid, this.hi).compute();
+        return Hash.combine(left.join(), right);
+      } // if
+
+      int code = 0;
+      long count = 0;
+      for (int row = this.lo; row < this.hi; row++) {
+        for (int col = 0; col < this.matrix.width(); col++) {
+          Object val = this.matrix.get(row, col);
+          if (val != null) {
+            code = code * MULTIPLIER + val.hashCode();
+            count++;
+          } // if
+        } // for col
+      } // for row
+      return new Hash(code, count);
+    } // compute()
+  } // class Hasher
+
+  /**
+   * Compares a block of rows of two matrices of the same size. Tasks are never serialized.
+   */
+  @SuppressWarnings("serial")
+  private static final class Compare extends RecursiveTask<Boolean> {
+    /** One matrix. */
+    private final Matrix<?> one;
+
+    /** The other matrix. */
+    private final Matrix<?> other;
+
+    /** First row (inclusive). */
+    private final int lo;
+
+    /** Last row (exclusive). */
+    private final int hi;
+
+    /**
+     * Create a task for a block of rows.
+     *
+     * @param first One matrix.
+     * @param second The other matrix.
+     * @param from First row (inclusive).
+     * @param to Last row (exclusive).
+     */
+    Compare(Matrix<?> first, Matrix<?> second, int from, int to) {
+      this.one = first;
+      this.other = second;
+      this.lo = from;
+      this.hi = to;
+    } // Compare(Matrix<?>, Matrix<?>, int, int)
+
+    /**
+     * Compare the block, splitting it if large.
+     *
+     * @return true if every cell of the block is equal.
+     */
+    @Override
+    protected Boolean compute() {
+      if (Matrices.splits(this.lo, this.hi, this.one.width())) {
+        int mid = (this.lo + this.hi) >>> 1;
+        Compare left = new Compare(this.one, this.other, this.lo, mid);
+        left.fork();
+        if (!new Compare(this.one, this.other, mid, this.hi).compute()) {
+          left.cancel(false);
+          return false;
+        } // if
+        return left.join();
+      } // if
+
+      for (int row = this.lo; row < this.hi; row++) {
+        for (int col = 0; col < this.one.width(); col++) {
+          if (!Objects.equals(this.one.get(row, col), this.other.get(row, col))) {
+            return false;
+          } // if
+        } // for col
+      } // for row
+      return true;
+    } // compute()
+  } // class Compare
+} // class Matrices
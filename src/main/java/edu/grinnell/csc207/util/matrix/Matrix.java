@@ -74,7 +74,8 @@ public interface Matrix<T> extends Cloneable {
   } // print(PrintWriter, Matrix<T>)
 
   /**
-   * Print a matrix, with or without labels.
+   * Print a matrix, with or without labels. To print many matrices, reuse a
+   * {@link MatrixPrinter} instead.
    *
    * @param <T> The type of values stored in the matrix.
    * @param pen The PrintWriter to use for printing.
@@ -82,49 +83,7 @@ public interface Matrix<T> extends Cloneable {
    * @param includeLabels Set to true if you want labels and false otherwise.
    */
   public static <T> void print(PrintWriter pen, Matrix<T> matrix, boolean includeLabels) {
-    int width = matrix.width();
-    int height = matrix.height();
-
-    // Find the maximum width of cells.
-    int cellWidth = 0;
-    for (int row = 0; row < height; row++) {
-      for (int col = 0; col < width; col++) {
-        T val = matrix.get(row, col);
-        int valWidth = toString(val).length();
-        cellWidth = Math.max(cellWidth, valWidth);
-      } // for col
-    } // for row
-
-    // Add some space on the sides
-    cellWidth += 2;
-
-    // Print everything out
-    if (includeLabels) {
-      pen.print(" ".repeat(4));
-      for (int col = 0; col < width; col++) {
-        printCell(pen, String.format("%2d", col), cellWidth + 1);
-      } // for
-      pen.println();
-    } // if
-
-    for (int row = 0; row < height; row++) {
-      if (includeLabels) {
-        pen.print(" ".repeat(4));
-      } // if
-      printRowSeparator(pen, cellWidth, width);
-      if (includeLabels) {
-        pen.printf(" %2d ", row);
-      } // if
-      for (int col = 0; col < width; col++) {
-        pen.print("|");
-        printCell(pen, toString(matrix.get(row, col)), cellWidth);
-      } // for col
-      pen.println("|");
-    } // for row
-    if (includeLabels) {
-      pen.print(" ".repeat(4));
-    } // if
-    printRowSeparator(pen, cellWidth, width);
+    new MatrixPrinter().print(pen, matrix, includeLabels);
   } // print(PrintWriter, Matrix)
 
   // +--------------+------------------------------------------------
@@ -275,4 +234,78 @@ public interface Matrix<T> extends Cloneable {
    */
   @Override
   public boolean equals(Object other);
+
+  // +-----------------------+---------------------------------------
+  // | Bulk and view methods |
+  // +-----------------------+
+
+  /**
+   * Get a view of a rectangular region of the matrix. Changes to the view are changes to the
+   * matrix, and vice versa; nothing is copied. Rows and columns cannot be inserted into or deleted
+   * from a view.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   *
+   * @return the view.
+   *
+   * @throws IndexOutOfBoundsException If the region is empty or does not fit in the matrix.
+   */
+  public default Matrix<T> subMatrix(int startRow, int startCol, int endRow, int endCol)
+      throws IndexOutOfBoundsException {
+    return new MatrixView<>(this, startRow, startCol, endRow, endCol);
+  } // subMatrix(int, int, int, int)
+
+  /**
+   * Get a view of one row, as a matrix of height 1.
+   *
+   * @param row The row.
+   *
+   * @return the view.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *         height.
+   */
+  public default Matrix<T> row(int row) throws IndexOutOfBoundsException {
+    return this.subMatrix(row, 0, row + 1, this.width());
+  } // row(int)
+
+  /**
+   * Get a view of one column, as a matrix of width 1.
+   *
+   * @param col The column.
+   *
+   * @return the view.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *         width.
+   */
+  public default Matrix<T> col(int col) throws IndexOutOfBoundsException {
+    return this.subMatrix(0, col, this.height(), col + 1);
+  } // col(int)
+
+  /**
+   * Copy every cell of this matrix into another, placing this matrix's top left corner at the
+   * given row and column of the other.
+   *
+   * @param dest The matrix to copy into.
+   * @param row The row of dest to receive the top row.
+   * @param col The column of dest to receive the left column.
+   *
+   * @throws IndexOutOfBoundsException If this matrix does not fit in dest at that place.
+   */
+  public default void copyInto(Matrix<T> dest, int row, int col)
+      throws IndexOutOfBoundsException {
+    if (row < 0 || col < 0 || row + this.height() > dest.height()
+        || col + this.width() > dest.width()) {
+      throw new IndexOutOfBoundsException("Error: matrix does not fit at " + row + ", " + col);
+    } // if
+    for (int r = 0; r < this.height(); r++) {
+      for (int c = 0; c < this.width(); c++) {
+        dest.set(row + r, col + c, this.get(r, c));
+      } // for
+    } // for
+  } // copyInto(Matrix<T>, int, int)
 } // interface Matrix<T>
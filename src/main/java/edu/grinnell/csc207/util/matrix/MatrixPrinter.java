@@ -0,0 +1,209 @@
+package edu.grinnell.csc207.util.matrix;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * Prints matrices in the format of {@link Matrix#print(PrintWriter, Matrix, boolean)}, reusing
+ * its buffers from one matrix to the next.
+ *
+ * <p>Each cell is converted to a string once. The separator line is built once per matrix, and
+ * everything is written into one buffer that is handed to the writer in a single call. Given a
+ * fixed cell width, the printer skips measuring the cells, and cuts off any that are too wide.
+ *
+ * <p>A printer is not safe to share between threads; use one per thread or connection.
+ *
+ * @author Andrew Fargo
+ */
+public class MatrixPrinter {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** Width of the text in each cell, or 0 to fit the widest cell. */
+  private final int fixedWidth;
+
+  /** Where the matrix is rendered. */
+  private final StringBuilder buffer;
+
+  /** The string of each cell of the current matrix, row by row. */
+  private String[] strings;
+
+  /** The buffer's contents, copied out for the writer. */
+  private char[] chars;
+
+  /** The line between rows, kept for as long as matrices have the same cell and row widths. */
+  private String separator;
+
+  /** The number of columns the separator spans. */
+  private int separatorCols;
+
+  /** The width of each cell of the separator. */
+  private int separatorWidth;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a printer that makes every cell as wide as the widest.
+   */
+  public MatrixPrinter() {
+    this(0);
+  } // MatrixPrinter()
+
+  /**
+   * Create a printer with a fixed cell width.
+   *
+   * @param cellWidth The width of the text in each cell, or 0 to fit the widest cell.
+   *
+   * @throws IllegalArgumentException If the width is negative.
+   */
+  public MatrixPrinter(int cellWidth) {
+    if (cellWidth < 0) {
+      throw new IllegalArgumentException("Invalid cell width: " + cellWidth);
+    } // if
+    this.fixedWidth = cellWidth;
+    this.buffer = new StringBuilder();
+    this.strings = new String[0];
+    this.chars = new char[0];
+    this.separator = "";
+  } // MatrixPrinter(int)
+
+  // +---------+-----------------------------------------------------
+  // | Methods |
+  // +---------+
+
+  /**
+   * Print a matrix, with or without labels.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param pen The PrintWriter to use for printing.
+   * @param matrix The matrix to print.
+   * @param includeLabels Set to true if you want labels and false otherwise.
+   */
+  public <T> void print(PrintWriter pen, Matrix<T> matrix, boolean includeLabels) {
+    CharSequence text = this.render(matrix, includeLabels);
+    int len = text.length();
+    if (this.chars.length < len) {
+      this.chars = new char[Math.max(len, 2 * this.chars.length)];
+    } // if
+    this.buffer.getChars(0, len, this.chars, 0);
+    pen.write(this.chars, 0, len);
+  } // print(PrintWriter, Matrix<T>, boolean)
+
+  /**
+   * Render a matrix, with or without labels, into the printer's buffer.
+   *
+   * @param <T> The type of values stored in the matrix.
+   * @param matrix The matrix to render.
+   * @param includeLabels Set to true if you want labels and false otherwise.
+   *
+   * @return the rendering, which is only valid until the printer is next used.
+   */
+  public <T> CharSequence render(Matrix<T> matrix, boolean includeLabels) {
+    int width = matrix.width();
+    int height = matrix.height();
+    StringBuilder sb = this.buffer;
+    sb.setLength(0);
+
+    // Convert each cell once, measuring as we go.
+    if (this.strings.length < width * height) {
+      this.strings = new String[Math.max(width * height, 2 * this.strings.length)];
+    } // if
+    int cellWidth = this.fixedWidth;
+    for (int row = 0; row < height; row++) {
+      for (int col = 0; col < width; col++) {
+        String str = Matrix.toString(matrix.get(row, col));
+        this.strings[row * width + col] = str;
+        if (this.fixedWidth == 0) {
+          cellWidth = Math.max(cellWidth, str.length());
+        } // if
+      } // for col
+    } // for row
+
+    // Add some space on the sides
+    cellWidth += 2;
+
+    // Build the separator line only when its size changes.
+    if (width != this.separatorCols || cellWidth != this.separatorWidth) {
+      for (int col = 0; col < width; col++) {
+        sb.append('+');
+        MatrixPrinter.pad(sb, '-', cellWidth);
+      } // for
+      sb.append("+\n");
+      this.separator = sb.toString();
+      this.separatorCols = width;
+      this.separatorWidth = cellWidth;
+      sb.setLength(0);
+    } // if
+    String line = this.separator;
+
+    if (includeLabels) {
+      MatrixPrinter.pad(sb, ' ', 4);
+      for (int col = 0; col < width; col++) {
+        MatrixPrinter.cell(sb, (col < 10) ? " " + col : Integer.toString(col), cellWidth + 1);
+      } // for
+      sb.append('\n');
+    } // if
+
+    for (int row = 0; row < height; row++) {
+      if (includeLabels) {
+        MatrixPrinter.pad(sb, ' ', 4);
+      } // if
+      sb.append(line);
+      if (includeLabels) {
+        sb.append(' ');
+        if (row < 10) {
+          sb.append(' ');
+        } // if
+        sb.append(row).append(' ');
+      } // if
+      for (int col = 0; col < width; col++) {
+        sb.append('|');
+        MatrixPrinter.cell(sb, this.strings[row * width + col], cellWidth);
+      } // for col
+      sb.append("|\n");
+    } // for row
+    if (includeLabels) {
+      MatrixPrinter.pad(sb, ' ', 4);
+    } // if
+    sb.append(line);
+
+    // Let go of the cells so they can be collected.
+    Arrays.fill(this.strings, 0, width * height, null);
+    return sb;
+  } // render(Matrix<T>, boolean)
+
+  /**
+   * Append a string centered in a box, cut off if it is too wide.
+   *
+   * @param sb Where to write.
+   * @param str The string.
+   * @param cellWidth The width of the box.
+   */
+  private static void cell(StringBuilder sb, String str, int cellWidth) {
+    int len = str.length();
+    if (len > cellWidth) {
+      sb.append(str, 0, cellWidth);
+    } else {
+      int left = (cellWidth - len) / 2;
+      MatrixPrinter.pad(sb, ' ', left);
+      sb.append(str);
+      MatrixPrinter.pad(sb, ' ', cellWidth - left - len);
+    } // if/else
+  } // cell(StringBuilder, String, int)
+
+  /**
+   * Append a character several times.
+   *
+   * @param sb Where to write.
+   * @param ch The character.
+   * @param count How many times.
+   */
+  private static void pad(StringBuilder sb, char ch, int count) {
+    for (int i = 0; i < count; i++) {
+      sb.append(ch);
+    } // for
+  } // pad(StringBuilder, char, int)
+} // class MatrixPrinter
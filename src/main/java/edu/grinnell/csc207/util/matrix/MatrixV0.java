@@ -1,5 +1,7 @@
 package edu.grinnell.csc207.util.matrix;
 
+import java.util.Arrays;
+
 /**
  * An implementation of two-dimensional matrices.
  *
@@ -373,17 +375,40 @@ public class MatrixV0<T> implements Matrix<T> {
    */
   @Override
   public Matrix<T> clone() {
-    Matrix<T> copy = new MatrixV0<>(this.width(), this.height(), this.def);
-
-    for (int row = 0; row < this.height(); row++) {
-      for (int col = 0; col < this.width(); col++) {
-        copy.set(row, col, this.get(row, col));
-      } // for
-    } // for
-
+    MatrixV0<T> copy = new MatrixV0<>(this.width(), this.height(), this.def);
+    this.copyInto(copy, 0, 0);
     return copy;
   } // clone()
 
+  /**
+   * Copy every cell of this matrix into another, placing this matrix's top left corner at the
+   * given row and column of the other. Copies a row at a time if the other is also a MatrixV0.
+   *
+   * @param dest The matrix to copy into.
+   * @param row The row of dest to receive the top row.
+   * @param col The column of dest to receive the left column.
+   *
+   * @throws IndexOutOfBoundsException If this matrix does not fit in dest at that place.
+   */
+  @Override
+  public void copyInto(Matrix<T> dest, int row, int col) throws IndexOutOfBoundsException {
+    if (!(dest instanceof MatrixV0)) {
+      Matrix.super.copyInto(dest, row, col);
+      return;
+    } // if
+    MatrixV0<T> target = (MatrixV0<T>) dest;
+    if (row < 0 || col < 0 || row + this.height > target.height
+        || col + this.width > target.width) {
+      throw new IndexOutOfBoundsException("Error: matrix does not fit at " + row + ", " + col);
+    } // if
+    if (target == this) {
+      return;
+    } // if
+    for (int r = 0; r < this.height; r++) {
+      System.arraycopy(this.matrix[r], 0, target.matrix[row + r], col, this.width);
+    } // for
+  } // copyInto(Matrix<T>, int, int)
+
   /**
    * Determine if this object is equal to another object.
    *
@@ -396,6 +421,19 @@ public class MatrixV0<T> implements Matrix<T> {
   @Override
   @SuppressWarnings("unchecked")
   public boolean equals(Object other) {
+    if (other instanceof MatrixV0) {
+      MatrixV0<?> otherMatrix = (MatrixV0<?>) other;
+      if (this.width != otherMatrix.width || this.height != otherMatrix.height) {
+        return false;
+      } // if
+      for (int row = 0; row < this.height; row++) {
+        if (!Arrays.equals(this.matrix[row], 0, this.width, otherMatrix.matrix[row], 0,
+            this.width)) {
+          return false;
+        } // if
+      } // for
+      return true;
+    } // if
     if (other instanceof Matrix) {
       Matrix<T> otherMatrix = (Matrix<T>) other;
       if (this.width() == otherMatrix.width() && this.height() == otherMatrix.height()) {
@@ -435,9 +473,10 @@ public class MatrixV0<T> implements Matrix<T> {
   public int hashCode() {
     int multiplier = 7;
     int code = this.width() + multiplier * this.height();
-    for (int row = 0; row < this.height(); row++) {
-      for (int col = 0; col < this.width(); col++) {
-        T val = this.get(row, col);
+    for (int row = 0; row < this.height; row++) {
+      T[] cells = this.matrix[row];
+      for (int col = 0; col < this.width; col++) {
+        T val = cells[col];
         if (val != null) {
           // It's okay if the following computation overflows, since
           // it will overflow uniformly.
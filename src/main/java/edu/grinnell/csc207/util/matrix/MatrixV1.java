@@ -0,0 +1,520 @@
+package edu.grinnell.csc207.util.matrix;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An implementation of two-dimensional matrices in a single array, with room to grow in both
+ * dimensions.
+ *
+ * <p>The array holds {@code rowCap} rows of {@code colCap} cells. The unused rows form a gap
+ * between two runs of rows, and likewise the unused columns of every row form a gap between two
+ * runs of columns, as in a gap buffer. Inserting or deleting a row moves the row gap to that
+ * place and grows or shrinks it, which copies only the rows in between; so does inserting or
+ * deleting a column. A run of edits near one place therefore costs O(width) per row and O(height)
+ * per column, and the array is only reallocated, at twice the size, when a gap is used up.
+ *
+ * @author Andrew Fargo
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+public class MatrixV1<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The width of the matrix. */
+  int width;
+
+  /** The height of the matrix. */
+  int height;
+
+  /** The default value to fill. */
+  T def;
+
+  /** The cells; row r and column c are at {@code physRow(r) * colCap + physCol(c)}. */
+  Object[] cells;
+
+  /** Number of rows the array has room for. */
+  int rowCap;
+
+  /** Number of columns the array has room for. */
+  int colCap;
+
+  /** The row before which the unused rows lie. */
+  int rowGap;
+
+  /** The column before which the unused columns lie. */
+  int colGap;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a new matrix of the specified width and height with the given value as the default.
+   *
+   * @param widthInput The width of the matrix.
+   * @param heightInput The height of the matrix.
+   * @param defInput The default value, used to fill all the cells.
+   *
+   * @throws NegativeArraySizeException If either the width or height are not positive.
+   */
+  public MatrixV1(int widthInput, int heightInput, T defInput) throws NegativeArraySizeException {
+    if (widthInput <= 0 || heightInput <= 0) {
+      throw new NegativeArraySizeException("Invalid width or height");
+    } // if
+
+    this.width = widthInput;
+    this.height = heightInput;
+    this.def = defInput;
+    this.rowCap = heightInput;
+    this.colCap = widthInput;
+    this.rowGap = heightInput;
+    this.colGap = widthInput;
+    this.cells = new Object[widthInput * heightInput];
+    Arrays.fill(this.cells, defInput);
+  } // MatrixV1(int, int, T)
+
+  /**
+   * Create a new matrix of the specified width and height with null as the default value.
+   *
+   * @param widthInput The width of the matrix.
+   * @param heightInput The height of the matrix.
+   *
+   * @throws NegativeArraySizeException If either the width or height are not positive.
+   */
+  public MatrixV1(int widthInput, int heightInput) throws NegativeArraySizeException {
+    this(widthInput, heightInput, null);
+  } // MatrixV1(int, int)
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Find where a row is kept.
+   *
+   * @param row The row.
+   *
+   * @return the row of the array that holds it.
+   */
+  private int physRow(int row) {
+    return (row < this.rowGap) ? row : row + this.rowCap - this.height;
+  } // physRow(int)
+
+  /**
+   * Find where a column is kept.
+   *
+   * @param col The column.
+   *
+   * @return the column of the array that holds it.
+   */
+  private int physCol(int col) {
+    return (col < this.colGap) ? col : col + this.colCap - this.width;
+  } // physCol(int)
+
+  /**
+   * Find a cell in the array.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the index of the cell.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  private int index(int row, int col) throws IndexOutOfBoundsException {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+    return this.physRow(row) * this.colCap + this.physCol(col);
+  } // index(int, int)
+
+  /**
+   * Move the unused rows so that they start before a given row.
+   *
+   * @param row The row.
+   */
+  private void moveRowGap(int row) {
+    int gap = this.rowCap - this.height;
+    if (row < this.rowGap) {
+      System.arraycopy(this.cells, row * this.colCap, this.cells, (row + gap) * this.colCap,
+          (this.rowGap - row) * this.colCap);
+    } else if (row > this.rowGap) {
+      System.arraycopy(this.cells, (this.rowGap + gap) * this.colCap, this.cells,
+          this.rowGap * this.colCap, (row - this.rowGap) * this.colCap);
+    } // if/else
+    this.rowGap = row;
+  } // moveRowGap(int)
+
+  /**
+   * Move the unused columns of every row so that they start before a given column.
+   *
+   * @param col The column.
+   */
+  private void moveColGap(int col) {
+    int gap = this.colCap - this.width;
+    for (int row = 0; row < this.height; row++) {
+      int base = this.physRow(row) * this.colCap;
+      if (col < this.colGap) {
+        System.arraycopy(this.cells, base + col, this.cells, base + col + gap,
+            this.colGap - col);
+      } else if (col > this.colGap) {
+        System.arraycopy(this.cells, base + this.colGap + gap, this.cells, base + this.colGap,
+            col - this.colGap);
+      } // if/else
+    } // for
+    this.colGap = col;
+  } // moveColGap(int)
+
+  /**
+   * Copy the cells into a larger array, with both gaps moved to the end.
+   *
+   * @param newRowCap The number of rows to make room for.
+   * @param newColCap The number of columns to make room for.
+   */
+  private void grow(int newRowCap, int newColCap) {
+    Object[] newCells = new Object[newRowCap * newColCap];
+    int colShift = this.colCap - this.width;
+    for (int row = 0; row < this.height; row++) {
+      int from = this.physRow(row) * this.colCap;
+      int to = row * newColCap;
+      System.arraycopy(this.cells, from, newCells, to, this.colGap);
+      System.arraycopy(this.cells, from + this.colGap + colShift, newCells, to + this.colGap,
+          this.width - this.colGap);
+    } // for
+    this.cells = newCells;
+    this.rowCap = newRowCap;
+    this.colCap = newColCap;
+    this.rowGap = this.height;
+    this.colGap = this.width;
+  } // grow(int, int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Get the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(int row, int col) throws IndexOutOfBoundsException {
+    return (T) this.cells[this.index(row, col)];
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  @Override
+  public void set(int row, int col, T val) throws IndexOutOfBoundsException {
+    this.cells[this.index(row, col)] = val;
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the matrix.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the matrix.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Insert a row filled with the default value.
+   *
+   * @param row The number of the row to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   */
+  @Override
+  public void insertRow(int row) throws IndexOutOfBoundsException {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+
+    if (this.height == this.rowCap) {
+      this.grow(2 * this.rowCap, this.colCap);
+    } // if
+    this.moveRowGap(row);
+    Arrays.fill(this.cells, row * this.colCap, (row + 1) * this.colCap, this.def);
+    this.rowGap++;
+    this.height++;
+  } // insertRow(int)
+
+  /**
+   * Insert a row filled with the specified values.
+   *
+   * @param row The number of the row to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than the height.
+   * @throws ArraySizeException If the size of vals is not the same as the width of the matrix.
+   */
+  @Override
+  public void insertRow(int row, T[] vals) throws IndexOutOfBoundsException, ArraySizeException {
+    if (row < 0 || row > this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+
+    if (vals.length != this.width) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+
+    this.insertRow(row);
+    int base = row * this.colCap;
+    int colShift = this.colCap - this.width;
+    System.arraycopy(vals, 0, this.cells, base, this.colGap);
+    System.arraycopy(vals, this.colGap, this.cells, base + this.colGap + colShift,
+        this.width - this.colGap);
+  } // insertRow(int, T[])
+
+  /**
+   * Insert a column filled with the default value.
+   *
+   * @param col The number of the column to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   */
+  @Override
+  public void insertCol(int col) throws IndexOutOfBoundsException {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+
+    if (this.width == this.colCap) {
+      this.grow(this.rowCap, 2 * this.colCap);
+    } // if
+    this.moveColGap(col);
+    for (int row = 0; row < this.height; row++) {
+      this.cells[this.physRow(row) * this.colCap + col] = this.def;
+    } // for
+    this.colGap++;
+    this.width++;
+  } // insertCol(int)
+
+  /**
+   * Insert a column filled with the specified values.
+   *
+   * @param col The number of the column to insert.
+   * @param vals The values to insert.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than the width.
+   * @throws ArraySizeException If the size of vals is not the same as the height of the matrix.
+   */
+  @Override
+  public void insertCol(int col, T[] vals) throws IndexOutOfBoundsException, ArraySizeException {
+    if (col < 0 || col > this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+
+    if (vals.length != this.height) {
+      throw new ArraySizeException("Error: invalid size of vals.");
+    } // if
+
+    this.insertCol(col);
+    for (int row = 0; row < this.height; row++) {
+      this.cells[this.physRow(row) * this.colCap + col] = vals[row];
+    } // for
+  } // insertCol(int, T[])
+
+  /**
+   * Delete a row.
+   *
+   * @param row The number of the row to delete.
+   *
+   * @throws IndexOutOfBoundsException If the row is negative or greater than or equal to the
+   *         height.
+   */
+  @Override
+  public void deleteRow(int row) throws IndexOutOfBoundsException {
+    if (row < 0 || row >= this.height) {
+      throw new IndexOutOfBoundsException("Error: invalid row.");
+    } // if
+
+    this.moveRowGap(row + 1);
+    // Let go of the values so they can be collected.
+    Arrays.fill(this.cells, row * this.colCap, (row + 1) * this.colCap, null);
+    this.rowGap--;
+    this.height--;
+  } // deleteRow(int)
+
+  /**
+   * Delete a column.
+   *
+   * @param col The number of the column to delete.
+   *
+   * @throws IndexOutOfBoundsException If the column is negative or greater than or equal to the
+   *         width.
+   */
+  @Override
+  public void deleteCol(int col) throws IndexOutOfBoundsException {
+    if (col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid column.");
+    } // if
+
+    this.moveColGap(col + 1);
+    for (int row = 0; row < this.height; row++) {
+      this.cells[this.physRow(row) * this.colCap + col] = null;
+    } // for
+    this.colGap--;
+    this.width--;
+  } // deleteCol(int)
+
+  /**
+   * Fill a rectangular region of the matrix.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val)
+      throws IndexOutOfBoundsException {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+
+    // Each row is filled in at most two runs, one on either side of the column gap.
+    int leftEnd = Math.min(endCol, this.colGap);
+    int rightStart = Math.max(startCol, this.colGap);
+    int colShift = this.colCap - this.width;
+    for (int row = startRow; row < endRow; row++) {
+      int base = this.physRow(row) * this.colCap;
+      if (startCol < leftEnd) {
+        Arrays.fill(this.cells, base + startCol, base + leftEnd, val);
+      } // if
+      if (rightStart < endCol) {
+        Arrays.fill(this.cells, base + rightStart + colShift, base + endCol + colShift, val);
+      } // if
+    } // for
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line (horizontal, vertical, diagonal), stopping when the current row or column equals
+   * or exceeds endRow or endCol, respectively.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate, or the line
+   *     would leave the matrix, or never end, before reaching the end row or column; nothing is
+   *     filled then.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, T val) {
+    // Cells are found by arithmetic, so a column past either edge would land in another row.
+    Bounds.line(this, startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+
+    int row = startRow;
+    int col = startCol;
+    while (row < endRow && col < endCol) {
+      this.cells[this.physRow(row) * this.colCap + this.physCol(col)] = val;
+      row += deltaRow;
+      col += deltaCol;
+    } // while
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Make a copy of the matrix, with the same room to grow. Shares references to the values.
+   *
+   * @return a copy of the matrix.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public MatrixV1<T> clone() {
+    try {
+      MatrixV1<T> copy = (MatrixV1<T>) super.clone();
+      copy.cells = this.cells.clone();
+      return copy;
+    } catch (CloneNotSupportedException e) {
+      // Cannot happen; we are Cloneable.
+      throw new AssertionError(e);
+    } // try/catch
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *         false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof Matrix)) {
+      return false;
+    } // if
+    Matrix<?> otherMatrix = (Matrix<?>) other;
+    if (this.width != otherMatrix.width() || this.height != otherMatrix.height()) {
+      return false;
+    } // if
+    for (int row = 0; row < this.height; row++) {
+      int base = this.physRow(row) * this.colCap;
+      for (int col = 0; col < this.width; col++) {
+        if (!Objects.equals(this.cells[base + this.physCol(col)], otherMatrix.get(row, col))) {
+          return false;
+        } // if
+      } // for col
+    } // for row
+    return true;
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this matrix, the same way {@link MatrixV0#hashCode()} does.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    int multiplier = 7;
+    int code = this.width + multiplier * this.height;
+    for (int row = 0; row < this.height; row++) {
+      int base = this.physRow(row) * this.colCap;
+      for (int col = 0; col < this.width; col++) {
+        Object val = this.cells[base + this.physCol(col)];
+        if (val != null) {
+          code = code * multiplier + val.hashCode();
+        } // if
+      } // for col
+    } // for row
+    return code;
+  } // hashCode()
+} // class MatrixV1
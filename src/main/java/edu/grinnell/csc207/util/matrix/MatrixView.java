@@ -0,0 +1,337 @@
+package edu.grinnell.csc207.util.matrix;
+
+import java.util.Objects;
+
+/**
+ * A rectangular window onto another matrix. Reading or writing a cell of the view reads or
+ * writes the corresponding cell of the matrix underneath; nothing is copied.
+ *
+ * <p>A view has a fixed size, so rows and columns cannot be inserted into or deleted from it.
+ * Once rows or columns are inserted into or deleted from the matrix underneath, the view refers
+ * to whatever cells now occupy its old position.
+ *
+ * @author Andrew Fargo
+ *
+ * @param <T> The type of values stored in the matrix.
+ */
+class MatrixView<T> implements Matrix<T> {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** The matrix underneath. */
+  final Matrix<T> base;
+
+  /** The row of the base at the top of the view. */
+  final int top;
+
+  /** The column of the base at the left of the view. */
+  final int left;
+
+  /** The width of the view. */
+  final int width;
+
+  /** The height of the view. */
+  final int height;
+
+  // +--------------+------------------------------------------------
+  // | Constructors |
+  // +--------------+
+
+  /**
+   * Create a view of a region of a matrix.
+   *
+   * @param matrix The matrix underneath.
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   *
+   * @throws IndexOutOfBoundsException If the region is empty or does not fit in the matrix.
+   */
+  MatrixView(Matrix<T> matrix, int startRow, int startCol, int endRow, int endCol)
+      throws IndexOutOfBoundsException {
+    if (startRow < 0 || startCol < 0 || endRow > matrix.height() || endCol > matrix.width()
+        || startRow >= endRow || startCol >= endCol) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    this.base = matrix;
+    this.top = startRow;
+    this.left = startCol;
+    this.width = endCol - startCol;
+    this.height = endRow - startRow;
+  } // MatrixView(Matrix<T>, int, int, int, int)
+
+  // +--------------+------------------------------------------------
+  // | Core methods |
+  // +--------------+
+
+  /**
+   * Check that a cell is in the view.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  private void check(int row, int col) throws IndexOutOfBoundsException {
+    if (row < 0 || row >= this.height || col < 0 || col >= this.width) {
+      throw new IndexOutOfBoundsException("Error: invalid row or column.");
+    } // if
+  } // check(int, int)
+
+  /**
+   * Get the element at the given row and column of the view.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   *
+   * @return the value at the specified location.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  @Override
+  public T get(int row, int col) throws IndexOutOfBoundsException {
+    this.check(row, col);
+    return this.base.get(this.top + row, this.left + col);
+  } // get(int, int)
+
+  /**
+   * Set the element at the given row and column of the view.
+   *
+   * @param row The row of the element.
+   * @param col The column of the element.
+   * @param val The value to set.
+   *
+   * @throws IndexOutOfBoundsException If either the row or column is out of reasonable bounds.
+   */
+  @Override
+  public void set(int row, int col, T val) throws IndexOutOfBoundsException {
+    this.check(row, col);
+    this.base.set(this.top + row, this.left + col, val);
+  } // set(int, int, T)
+
+  /**
+   * Determine the number of rows in the view.
+   *
+   * @return the number of rows.
+   */
+  @Override
+  public int height() {
+    return this.height;
+  } // height()
+
+  /**
+   * Determine the number of columns in the view.
+   *
+   * @return the number of columns.
+   */
+  @Override
+  public int width() {
+    return this.width;
+  } // width()
+
+  /**
+   * Views cannot grow.
+   *
+   * @param row Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void insertRow(int row) {
+    throw new UnsupportedOperationException("Cannot insert into a view");
+  } // insertRow(int)
+
+  /**
+   * Views cannot grow.
+   *
+   * @param row Ignored.
+   * @param vals Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void insertRow(int row, T[] vals) {
+    throw new UnsupportedOperationException("Cannot insert into a view");
+  } // insertRow(int, T[])
+
+  /**
+   * Views cannot grow.
+   *
+   * @param col Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void insertCol(int col) {
+    throw new UnsupportedOperationException("Cannot insert into a view");
+  } // insertCol(int)
+
+  /**
+   * Views cannot grow.
+   *
+   * @param col Ignored.
+   * @param vals Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void insertCol(int col, T[] vals) {
+    throw new UnsupportedOperationException("Cannot insert into a view");
+  } // insertCol(int, T[])
+
+  /**
+   * Views cannot shrink.
+   *
+   * @param row Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void deleteRow(int row) {
+    throw new UnsupportedOperationException("Cannot delete from a view");
+  } // deleteRow(int)
+
+  /**
+   * Views cannot shrink.
+   *
+   * @param col Ignored.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void deleteCol(int col) {
+    throw new UnsupportedOperationException("Cannot delete from a view");
+  } // deleteCol(int)
+
+  /**
+   * Fill a rectangular region of the view, and so of the matrix underneath.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   * @param val The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate.
+   */
+  @Override
+  public void fillRegion(int startRow, int startCol, int endRow, int endCol, T val)
+      throws IndexOutOfBoundsException {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    this.base.fillRegion(this.top + startRow, this.left + startCol, this.top + endRow,
+        this.left + endCol, val);
+  } // fillRegion(int, int, int, int, T)
+
+  /**
+   * Fill a line of the view, and so of the matrix underneath.
+   *
+   * @param startRow The row to start with (inclusive).
+   * @param startCol The column to start with (inclusive).
+   * @param deltaRow How much to change the row in each step.
+   * @param deltaCol How much to change the column in each step.
+   * @param endRow The row to stop with (exclusive).
+   * @param endCol The column to stop with (exclusive).
+   * @param val The value to store.
+   *
+   * @throws IndexOutOfBoundsException If the rows or columns are inappropriate, or the line
+   *     would leave the view before reaching the end row or column.
+   */
+  @Override
+  public void fillLine(int startRow, int startCol, int deltaRow, int deltaCol, int endRow,
+      int endCol, T val) {
+    // Every cell of the line must be in the view, or it would be a cell of the matrix underneath.
+    Bounds.line(this, startRow, startCol, deltaRow, deltaCol, endRow, endCol);
+    this.base.fillLine(this.top + startRow, this.left + startCol, deltaRow, deltaCol,
+        this.top + endRow, this.left + endCol, val);
+  } // fillLine(int, int, int, int, int, int, T)
+
+  /**
+   * Get a view of part of this view, as a view of the matrix underneath.
+   *
+   * @param startRow The top edge / row to start with (inclusive).
+   * @param startCol The left edge / column to start with (inclusive).
+   * @param endRow The bottom edge / row to stop with (exclusive).
+   * @param endCol The right edge / column to stop with (exclusive).
+   *
+   * @return the view.
+   *
+   * @throws IndexOutOfBoundsException If the region is empty or does not fit in this view.
+   */
+  @Override
+  public Matrix<T> subMatrix(int startRow, int startCol, int endRow, int endCol)
+      throws IndexOutOfBoundsException {
+    if (startRow < 0 || startCol < 0 || endRow > this.height || endCol > this.width
+        || startRow >= endRow || startCol >= endCol) {
+      throw new IndexOutOfBoundsException("Error: Rows or cols are inappropriate: " + startRow
+          + ", " + startCol + ", " + endRow + ", " + endCol);
+    } // if
+    return this.base.subMatrix(this.top + startRow, this.left + startCol, this.top + endRow,
+        this.left + endCol);
+  } // subMatrix(int, int, int, int)
+
+  /**
+   * Copy the cells of the view into a new, independent matrix.
+   *
+   * @return a copy of the view, with null as its default value.
+   */
+  @Override
+  public Matrix<T> clone() {
+    Matrix<T> copy = new MatrixV0<>(this.width, this.height);
+    this.copyInto(copy, 0, 0);
+    return copy;
+  } // clone()
+
+  /**
+   * Determine if this object is equal to another object.
+   *
+   * @param other The object to compare.
+   *
+   * @return true if the other object is a matrix with the same width, height, and equal elements;
+   *         false otherwise.
+   */
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof Matrix)) {
+      return false;
+    } // if
+    Matrix<?> otherMatrix = (Matrix<?>) other;
+    if (this.width != otherMatrix.width() || this.height != otherMatrix.height()) {
+      return false;
+    } // if
+    for (int row = 0; row < this.height; row++) {
+      for (int col = 0; col < this.width; col++) {
+        if (!Objects.equals(this.base.get(this.top + row, this.left + col),
+            otherMatrix.get(row, col))) {
+          return false;
+        } // if
+      } // for col
+    } // for row
+    return true;
+  } // equals(Object)
+
+  /**
+   * Compute a hash code for this view, the same way {@link MatrixV0#hashCode()} does.
+   *
+   * @return the hash code.
+   */
+  @Override
+  public int hashCode() {
+    int multiplier = 7;
+    int code = this.width + multiplier * this.height;
+    for (int row = 0; row < this.height; row++) {
+      for (int col = 0; col < this.width; col++) {
+        T val = this.base.get(this.top + row, this.left + col);
+        if (val != null) {
+          code = code * multiplier + val.hashCode();
+        } // if
+      } // for col
+    } // for row
+    return code;
+  } // hashCode()
+} // class MatrixView<T>
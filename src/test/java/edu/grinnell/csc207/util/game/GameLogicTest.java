@@ -0,0 +1,215 @@
+package edu.grinnell.csc207.util.game;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of saving and restoring games in progress.
+ *
+ * @author Andrew Fargo
+ */
+class GameLogicTest {
+  // +--------+---------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** Where the scores are saved. */
+  @TempDir
+  Path dir;
+
+  /** The options for every game. */
+  private GameOptions opts;
+
+  /** The word lists. */
+  private Words words;
+
+  /** The scores. */
+  private Scores scores;
+
+  // +-------+-------------------------------------------------------
+  // | Setup |
+  // +-------+
+
+  /**
+   * Load the shipped word lists and start empty scores.
+   *
+   * @throws IOException if the files cannot be read.
+   */
+  @BeforeEach
+  void setUp() throws IOException {
+    this.opts = new GameOptions();
+    this.opts.setSavefile(this.dir.resolve("scores.txt").toString());
+    this.words = new Words(this.opts);
+    this.scores = Scores.open(this.opts);
+  } // setUp()
+
+  /**
+   * Close the scores.
+   *
+   * @throws IOException if they cannot be saved.
+   */
+  @AfterEach
+  void tearDown() throws IOException {
+    this.scores.close();
+  } // tearDown()
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Start a game.
+   *
+   * @param seed Seed for choosing the target.
+   * @return The game.
+   */
+  private GameLogic game(long seed) {
+    return new GameLogic(this.opts, new Words(this.words, seed), this.scores);
+  } // game(long)
+
+  /**
+   * Make wrong guesses in a game.
+   *
+   * @param game The game.
+   * @param count How many.
+   */
+  private void miss(GameLogic game, int count) {
+    String target = game.getTarget();
+    for (int i = 0; count > 0; i++) {
+      String guess = this.words.guess(i);
+      if (guess.length() == target.length() && !guess.equalsIgnoreCase(target)) {
+        assertEquals(GameLogic.GameState.CONTINUE, game.registerGuess(guess));
+        count--;
+      } // if
+    } // for
+  } // miss(GameLogic, int)
+
+  /**
+   * Build a snapshot by hand.
+   *
+   * @param values The version, then varints.
+   * @return The snapshot.
+   */
+  private static byte[] snapshot(long... values) {
+    ByteBuffer out = ByteBuffer.allocate(Varints.MAX_LONG * values.length);
+    out.put((byte) values[0]);
+    for (int i = 1; i < values.length; i++) {
+      Varints.put(out, values[i]);
+    } // for
+    return Arrays.copyOf(out.array(), out.position());
+  } // snapshot(long...)
+
+  /**
+   * Check that a snapshot is rejected without changing the game.
+   *
+   * @param game The game.
+   * @param data The snapshot.
+   */
+  private static void assertRejected(GameLogic game, byte[] data) {
+    byte[] before = game.snapshot();
+    assertThrows(IllegalArgumentException.class, () -> game.restore(data));
+    assertArrayEquals(before, game.snapshot());
+  } // assertRejected(GameLogic, byte[])
+
+  // +-------+-------------------------------------------------------
+  // | Tests |
+  // +-------+
+
+  /**
+   * A restored game has the same target, board and feedback.
+   */
+  @Test
+  void roundTrip() {
+    GameLogic saved = this.game(1);
+    this.miss(saved, 3);
+    byte[] data = saved.snapshot();
+    assertTrue(data.length <= 10);
+
+    GameLogic restored = this.game(2);
+    restored.restore(data);
+    assertEquals(saved.getTarget(), restored.getTarget());
+    assertEquals(saved.getGuessesMade(), restored.getGuessesMade());
+    for (int row = 0; row < saved.getGuessesMade(); row++) {
+      assertEquals(saved.getGuess(row), restored.getGuess(row));
+      assertEquals(saved.getPattern(row), restored.getPattern(row));
+    } // for
+    assertEquals(saved.toString(), restored.toString());
+    assertEquals(GameLogic.GameState.WIN, restored.registerGuess(restored.getTarget()));
+  } // roundTrip()
+
+  /**
+   * A new game survives a round trip too.
+   */
+  @Test
+  void roundTripEmpty() {
+    GameLogic saved = this.game(3);
+    GameLogic restored = this.game(4);
+    restored.restore(saved.snapshot());
+    assertEquals(saved.getTarget(), restored.getTarget());
+    assertEquals(0, restored.getGuessesMade());
+  } // roundTripEmpty()
+
+  /**
+   * Malformed snapshots are rejected and leave the game as it was.
+   */
+  @Test
+  void rejectsMalformed() {
+    GameLogic game = this.game(5);
+    this.miss(game, 1);
+    byte[] good = game.snapshot();
+    int version = GameLogic.SNAPSHOT_VERSION;
+
+    assertRejected(game, new byte[0]);
+    assertRejected(game, Arrays.copyOf(good, good.length - 1));
+    assertRejected(game, snapshot(version + 1, 0, 0));
+    assertRejected(game, snapshot(version, this.words.answers().size(), 0));
+    assertRejected(game, snapshot(version, 0, 1, this.words.guessCount()));
+    assertRejected(game, snapshot(version, 0, 1, -1));
+  } // rejectsMalformed()
+
+  /**
+   * Finished games cannot be restored: a full board, or a board with the target on it.
+   */
+  @Test
+  void rejectsFinished() {
+    GameLogic game = this.game(6);
+    int version = GameLogic.SNAPSHOT_VERSION;
+    int target = -1;
+    for (int i = 0; target < 0; i++) {
+      if (this.words.guess(i).equalsIgnoreCase(this.words.answer(0))) {
+        target = i;
+      } // if
+    } // for
+
+    long[] full = new long[3 + this.opts.getGuesses()];
+    full[0] = version;
+    full[2] = this.opts.getGuesses();
+    Arrays.fill(full, 3, full.length, target);
+    assertRejected(game, snapshot(full));
+    assertRejected(game, snapshot(version, 0, 1, target));
+  } // rejectsFinished()
+
+  /**
+   * Nothing is registered once a game is over.
+   */
+  @Test
+  void noGuessesAfterGameOver() {
+    GameLogic game = this.game(7);
+    assertEquals(GameLogic.GameState.WIN, game.registerGuess(game.getTarget()));
+    assertTrue(game.isGameOver());
+    assertEquals(GameLogic.GameState.REDO, game.registerGuess(game.getTarget()));
+    assertEquals(1, game.getGuessesMade());
+  } // noGuessesAfterGameOver()
+} // class GameLogicTest
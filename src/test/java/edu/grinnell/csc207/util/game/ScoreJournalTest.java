@@ -0,0 +1,120 @@
+package edu.grinnell.csc207.util.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of recovering scores from the journal and the save file.
+ *
+ * @author Andrew Fargo
+ */
+class ScoreJournalTest {
+  /** Where the files are kept. */
+  @TempDir
+  Path dir;
+
+  /**
+   * Replay a journal.
+   *
+   * @param journal The journal.
+   * @param epoch The epoch of the snapshot.
+   * @return The total change to each score.
+   * @throws IOException if the journal cannot be read.
+   */
+  private static Map<Integer, Long> recover(ScoreJournal journal, long epoch)
+      throws IOException {
+    Map<Integer, Long> found = new TreeMap<>();
+    journal.recover(epoch, (score, count) -> found.merge(score, (long) count, Long::sum));
+    return found;
+  } // recover(ScoreJournal, long)
+
+  /**
+   * Appended records are replayed, and a torn record at the end is cut off.
+   *
+   * @throws IOException if the journal cannot be written.
+   */
+  @Test
+  void recoverAfterTornWrite() throws IOException {
+    Path save = this.dir.resolve("scores.txt");
+    ScoreJournal journal = new ScoreJournal(save);
+    journal.reset(3);
+    journal.append(Map.of(2, 1L, 4, 5L));
+    journal.append(Map.of(4, 1L));
+    long intact = journal.size();
+    Files.write(this.dir.resolve("scores.txt.journal"), new byte[] {0, 0, 0, 7, 0, 0},
+        StandardOpenOption.APPEND);
+
+    assertEquals(Map.of(2, 1L, 4, 6L), recover(new ScoreJournal(save), 3));
+    assertEquals(intact, journal.size());
+    assertEquals(Map.of(2, 1L, 4, 6L), recover(new ScoreJournal(save), 3));
+  } // recoverAfterTornWrite()
+
+  /**
+   * A journal from another epoch is already in the snapshot, so it is started over.
+   *
+   * @throws IOException if the journal cannot be written.
+   */
+  @Test
+  void recoverOtherEpoch() throws IOException {
+    Path save = this.dir.resolve("scores.txt");
+    ScoreJournal journal = new ScoreJournal(save);
+    journal.reset(1);
+    journal.append(Map.of(3, 2L));
+    assertTrue(recover(journal, 2).isEmpty());
+    assertTrue(recover(journal, 2).isEmpty());
+  } // recoverOtherEpoch()
+
+  /**
+   * Scores survive closing and opening again, in either format, and are read back whatever
+   * format is configured.
+   *
+   * @throws IOException if the scores cannot be written.
+   */
+  @Test
+  void roundTrip() throws IOException {
+    for (ScoreFormat format : ScoreFormat.values()) {
+      Path save = this.dir.resolve(format + ".txt");
+      try (Scores scores = new Scores(save, format)) {
+        scores.add(3);
+        scores.add(3);
+        scores.add(1000);
+        scores.add("someone", 4);
+      } // try
+      for (ScoreFormat other : ScoreFormat.values()) {
+        try (Scores scores = new Scores(save, other)) {
+          assertEquals("3\t2\n4\t1\n1000\t1\n", scores.toString());
+          assertEquals("4\t1\n", scores.toString("someone"));
+        } // try
+      } // for
+    } // for
+  } // roundTrip()
+
+  /**
+   * Wins appended to the journal but never compacted are recovered on opening.
+   *
+   * @throws IOException if the scores cannot be written.
+   */
+  @Test
+  void recoverJournalOnOpen() throws IOException {
+    Path save = this.dir.resolve("scores.txt");
+    try (Scores scores = new Scores(save)) {
+      scores.add(2);
+    } // try
+    // As if the process died after a background flush: records following the saved epoch.
+    ScoreJournal journal = new ScoreJournal(save);
+    journal.append(Map.of(5, 2L));
+    try (Scores scores = new Scores(save)) {
+      assertEquals("2\t1\n5\t2\n", scores.toString());
+    } // try
+  } // recoverJournalOnOpen()
+} // class ScoreJournalTest
@@ -0,0 +1,127 @@
+package edu.grinnell.csc207.util.game;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of the per-player score store.
+ *
+ * @author Andrew Fargo
+ */
+class ScoreStoreTest {
+  /** Enough players to make a new store grow twice. */
+  private static final int PLAYERS = 3000;
+
+  /** Where the store is kept. */
+  @TempDir
+  Path dir;
+
+  /**
+   * Name a player.
+   *
+   * @param i The player's number.
+   * @return The name, some of them not plain ASCII.
+   */
+  private static String name(int i) {
+    switch (i % 3) {
+      case 0:
+        return "player" + i;
+      case 1:
+        return "joueur-é" + i;
+      default:
+        // A lone surrogate, which UTF-8 cannot encode as is.
+        return "\uD800p" + i;
+    } // switch
+  } // name(int)
+
+  /**
+   * The histogram a player should have.
+   *
+   * @param i The player's number.
+   * @return The counts.
+   */
+  private static long[] expected(int i) {
+    long[] counts = new long[ScoreStore.SCORES];
+    counts[1 + i % 6] = 1 + i % 4;
+    return counts;
+  } // expected(int)
+
+  /**
+   * Check every player's histogram.
+   *
+   * @param store The store.
+   */
+  private static void check(ScoreStore store) {
+    assertEquals(PLAYERS, store.size());
+    for (int i = 0; i < PLAYERS; i++) {
+      assertArrayEquals(expected(i), store.get(name(i)), name(i));
+    } // for
+  } // check(ScoreStore)
+
+  /**
+   * Every player is found after the store grows, and after it is opened again.
+   *
+   * @throws IOException if the store cannot be written.
+   */
+  @Test
+  void growAndReopen() throws IOException {
+    Path file = this.dir.resolve("scores.players");
+    ScoreStore store = new ScoreStore(file);
+    // Half the wins before growing and half after, so each player is found again in between.
+    for (int round = 0; round < 2; round++) {
+      for (int i = 0; i < PLAYERS; i++) {
+        long[] counts = expected(i);
+        for (int score = 0; score < counts.length; score++) {
+          for (long n = round; n < counts[score]; n += 2) {
+            store.add(name(i), score);
+          } // for
+        } // for
+      } // for
+    } // for
+    check(store);
+    store.force();
+    check(new ScoreStore(file));
+    // Each grow builds its copy in a temporary file, and leaves none behind.
+    try (Stream<Path> files = Files.list(this.dir)) {
+      assertEquals(1, files.count());
+    } // try
+  } // growAndReopen()
+
+  /**
+   * Large scores share the last bucket, and unknown players have no scores.
+   *
+   * @throws IOException if the store cannot be written.
+   */
+  @Test
+  void bucketsAndMissing() throws IOException {
+    ScoreStore store = new ScoreStore(this.dir.resolve("scores.players"));
+    store.add("someone", 100);
+    store.add("someone", ScoreStore.SCORES - 1);
+    assertEquals(2, store.get("someone")[ScoreStore.SCORES - 1]);
+    assertArrayEquals(new long[ScoreStore.SCORES], store.get("nobody"));
+    assertEquals(1, store.size());
+  } // bucketsAndMissing()
+
+  /**
+   * Names must be 1 to {@link ScoreStore#MAX_NAME} bytes of UTF-8.
+   *
+   * @throws IOException if the store cannot be opened.
+   */
+  @Test
+  void rejectsBadNames() throws IOException {
+    ScoreStore store = new ScoreStore(this.dir.resolve("scores.players"));
+    assertThrows(IllegalArgumentException.class, () -> store.add("", 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> store.add("é".repeat(ScoreStore.MAX_NAME / 2 + 1), 1));
+    assertEquals(0, store.size());
+  } // rejectsBadNames()
+} // class ScoreStoreTest
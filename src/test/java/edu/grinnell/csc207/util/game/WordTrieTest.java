@@ -0,0 +1,170 @@
+package edu.grinnell.csc207.util.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of the trie of valid guesses.
+ *
+ * @author Andrew Fargo
+ */
+class WordTrieTest {
+  // +--------+------------------------------------------------------
+  // | Fields |
+  // +--------+
+
+  /** Where trie files are kept. */
+  @TempDir
+  Path dir;
+
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Make up a list of distinct words of four to eight letters, in no particular order.
+   *
+   * @param count How many.
+   * @return The words, in lower case.
+   */
+  private static String[] words(int count) {
+    Random rng = new Random(207);
+    String[] words = new String[count];
+    for (int i = 0; i < count; i++) {
+      StringBuilder word = new StringBuilder();
+      for (int letters = 1 + rng.nextInt(5); letters > 0; letters--) {
+        word.append((char) ('a' + rng.nextInt(26)));
+      } // for
+      // The position keeps the words apart.
+      words[i] = word.append((char) ('a' + i % 26)).append((char) ('a' + i / 26 % 26))
+          .append((char) ('a' + i / 676)).toString();
+    } // for
+    return words;
+  } // words(int)
+
+  // +-------+-------------------------------------------------------
+  // | Tests |
+  // +-------+
+
+  /**
+   * Words are found ignoring case, and nothing else is.
+   */
+  @Test
+  void contains() {
+    WordTrie trie = WordTrie.build(new String[] {"crane", "Crate", "cranes", "slate"});
+    assertEquals(4, trie.size());
+    assertTrue(trie.contains("crane"));
+    assertTrue(trie.contains("CRATE"));
+    assertTrue(trie.contains("cranes"));
+    assertFalse(trie.contains("cran"));
+    assertFalse(trie.contains("cranesx"));
+    assertFalse(trie.contains("slat"));
+    assertFalse(trie.contains(""));
+    assertFalse(trie.contains("cr4ne"));
+    assertTrue(trie.hasPrefix("sl"));
+    assertFalse(trie.hasPrefix("sx"));
+  } // contains()
+
+  /**
+   * The builder shares common endings, skips repeats, and refuses anything but letters.
+   */
+  @Test
+  void builder() {
+    // Without sharing, each of the ten words would need its own "ane" and "ate" edges.
+    String[] words = {"bane", "bate", "cane", "cate", "lane", "late", "mane", "mate", "pane",
+        "pate", "bane"};
+    WordTrie trie = WordTrie.build(words);
+    assertEquals(10, trie.size());
+    assertEquals(11, trie.length());
+    assertTrue(trie.toString().contains("edges=9"), trie.toString());
+    assertThrows(IllegalArgumentException.class,
+        () -> WordTrie.build(new String[] {"crane", "o'er"}));
+    assertEquals(0, WordTrie.build(new String[0]).size());
+  } // builder()
+
+  /**
+   * Completions come in alphabetical order, up to the limit.
+   */
+  @Test
+  void complete() {
+    WordTrie trie = WordTrie.build(new String[] {"slate", "crate", "cranes", "crane", "crab"});
+    assertEquals(List.of("crab", "crane", "cranes", "crate"), trie.complete("CR", 10));
+    assertEquals(List.of("crane", "cranes"), trie.complete("crane", 10));
+    assertEquals(List.of("crab", "crane"), trie.complete("", 2));
+    assertEquals(List.of(), trie.complete("crx", 10));
+    assertEquals(List.of(), trie.complete("cr", 0));
+  } // complete()
+
+  /**
+   * Ranks number the words alphabetically without gaps, and positions are those of the list,
+   * the same as a word set gives.
+   */
+  @Test
+  void ranksAndPositions() {
+    String[] words = WordTrieTest.words(5000);
+    WordTrie trie = WordTrie.build(words);
+    WordSet set = new WordSet(words);
+    String[] sorted = words.clone();
+    Arrays.sort(sorted);
+    for (int rank = 0; rank < sorted.length; rank++) {
+      assertEquals(rank, trie.rank(sorted[rank]), sorted[rank]);
+    } // for
+    for (int i = 0; i < words.length; i++) {
+      assertEquals(set.indexOf(words[i]), trie.indexOf(words[i].toUpperCase()));
+      assertEquals(set.get(i), trie.get(i));
+    } // for
+    assertEquals(-1, trie.rank("zzzzzzzzz"));
+    assertEquals(-1, trie.indexOf("q"));
+    assertThrows(IndexOutOfBoundsException.class, () -> trie.get(words.length));
+  } // ranksAndPositions()
+
+  /**
+   * A repeated word keeps its first position, as in a word set.
+   */
+  @Test
+  void repeats() {
+    String[] words = {"slate", "crane", "slate", "adieu"};
+    WordTrie trie = WordTrie.build(words);
+    assertEquals(0, trie.indexOf("slate"));
+    assertEquals("slate", trie.get(2));
+    assertEquals(new WordSet(words).indexOf("slate"), trie.indexOf("SLATE"));
+  } // repeats()
+
+  /**
+   * The saved trie is reused while the word file is unchanged, and rebuilt when it changes.
+   *
+   * @throws IOException if the files cannot be written.
+   */
+  @Test
+  void openAndRebuild() throws IOException {
+    Path wordfile = this.dir.resolve("checklist.txt");
+    Path cache = this.dir.resolve("checklist.dawg");
+    Files.writeString(wordfile, "slate\ncrane\nadieu\n");
+    WordTrie trie = WordTrie.open(wordfile, cache);
+    assertEquals(1, trie.indexOf("crane"));
+    long modified = Files.getLastModifiedTime(cache).toMillis();
+    assertEquals(1, WordTrie.open(wordfile, cache).indexOf("crane"));
+    assertEquals(modified, Files.getLastModifiedTime(cache).toMillis());
+
+    Files.writeString(wordfile, "crane\nslate\nadieu\ntrace\n");
+    WordTrie rebuilt = WordTrie.open(wordfile, cache);
+    assertEquals(0, rebuilt.indexOf("crane"));
+    assertEquals("trace", rebuilt.get(3));
+    try (Stream<Path> files = Files.list(this.dir)) {
+      assertEquals(2, files.count());
+    } // try
+  } // openAndRebuild()
+} // class WordTrieTest
@@ -0,0 +1,29 @@
+package edu.grinnell.csc207.util.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the packed byte matrix.
+ *
+ * @author Andrew Fargo
+ */
+class ByteMatrixTest {
+  /**
+   * A line that walks off the left edge is refused, instead of writing into the row above.
+   */
+  @Test
+  void fillLineStaysInRow() {
+    ByteMatrix matrix = new ByteMatrix(3, 3, (byte) 0);
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> matrix.fillLine(1, 0, 1, -1, 3, 3, (byte) 9));
+    assertEquals(new ByteMatrix(3, 3, (byte) 0), matrix);
+    matrix.fillLine(0, 2, 1, -1, 3, 3, (byte) 9);
+    assertEquals((byte) 9, matrix.get(0, 2));
+    assertEquals((byte) 9, matrix.get(1, 1));
+    assertEquals((byte) 9, matrix.get(2, 0));
+    assertEquals((byte) 0, matrix.get(1, 2));
+  } // fillLineStaysInRow()
+} // class ByteMatrixTest
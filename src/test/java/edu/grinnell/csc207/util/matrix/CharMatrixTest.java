@@ -0,0 +1,29 @@
+package edu.grinnell.csc207.util.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the packed character matrix.
+ *
+ * @author Andrew Fargo
+ */
+class CharMatrixTest {
+  /**
+   * A line that walks off the left edge is refused, instead of writing into the row above.
+   */
+  @Test
+  void fillLineStaysInRow() {
+    CharMatrix matrix = new CharMatrix(3, 3, '.');
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> matrix.fillLine(1, 0, 1, -1, 3, 3, 'X'));
+    assertEquals(new CharMatrix(3, 3, '.'), matrix);
+    matrix.fillLine(0, 2, 1, -1, 3, 3, 'X');
+    assertEquals('X', matrix.get(0, 2));
+    assertEquals('X', matrix.get(1, 1));
+    assertEquals('X', matrix.get(2, 0));
+    assertEquals('.', matrix.get(1, 2));
+  } // fillLineStaysInRow()
+} // class CharMatrixTest
@@ -0,0 +1,74 @@
+package edu.grinnell.csc207.util.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the parallel matrix operations agree with the sequential ones, on matrices small
+ * enough to stay on the calling thread and large enough to split.
+ *
+ * @author Andrew Fargo
+ */
+class MatricesTest {
+  /**
+   * Make a matrix with a pattern of values and nulls.
+   *
+   * @param width The width.
+   * @param height The height.
+   * @return The matrix.
+   */
+  private static Matrix<Integer> pattern(int width, int height) {
+    Matrix<Integer> matrix = new MatrixV0<>(width, height);
+    for (int row = 0; row < height; row++) {
+      for (int col = 0; col < width; col++) {
+        if ((row + col) % 5 != 0) {
+          matrix.set(row, col, row * 31 + col);
+        } // if
+      } // for col
+    } // for row
+    return matrix;
+  } // pattern(int, int)
+
+  /**
+   * Check one size of matrix.
+   *
+   * @param width The width.
+   * @param height The height.
+   */
+  private static void check(int width, int height) {
+    Matrix<Integer> one = pattern(width, height);
+    Matrix<Integer> other = pattern(width, height);
+    assertEquals(one.hashCode(), Matrices.hashCode(one));
+    assertTrue(Matrices.equals(one, other));
+
+    other.set(height - 1, width - 1, -1);
+    assertFalse(Matrices.equals(one, other));
+
+    Matrices.fillRegion(one, 1, 1, height - 1, width - 1, 7);
+    Matrix<Integer> expected = pattern(width, height);
+    expected.fillRegion(1, 1, height - 1, width - 1, 7);
+    assertEquals(expected, one);
+    assertEquals(expected.hashCode(), Matrices.hashCode(one));
+  } // check(int, int)
+
+  /**
+   * Matrices under the threshold.
+   */
+  @Test
+  void small() {
+    check(5, 6);
+    check(100, 100);
+  } // small()
+
+  /**
+   * Matrices over the threshold, split into blocks.
+   */
+  @Test
+  void large() {
+    check(300, 1000);
+    check(Matrices.THRESHOLD + 3, 3);
+  } // large()
+} // class MatricesTest
@@ -0,0 +1,104 @@
+package edu.grinnell.csc207.util.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the gap-buffer matrix.
+ *
+ * @author Andrew Fargo
+ */
+class MatrixV1Test {
+  // +---------+-----------------------------------------------------
+  // | Helpers |
+  // +---------+
+
+  /**
+   * Build a matrix whose cells hold {@code 10 * row + col}.
+   *
+   * @param width The width.
+   * @param height The height.
+   * @return The matrix.
+   */
+  private static Matrix<Integer> numbered(int width, int height) {
+    Matrix<Integer> matrix = new MatrixV1<>(width, height, 0);
+    for (int row = 0; row < height; row++) {
+      for (int col = 0; col < width; col++) {
+        matrix.set(row, col, 10 * row + col);
+      } // for col
+    } // for row
+    return matrix;
+  } // numbered(int, int)
+
+  // +-------+-------------------------------------------------------
+  // | Tests |
+  // +-------+
+
+  /**
+   * A line that walks off the left edge is refused, instead of writing into the row above.
+   */
+  @Test
+  void fillLineStaysInRow() {
+    Matrix<Integer> matrix = numbered(3, 3);
+    Matrix<Integer> before = matrix.clone();
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> matrix.fillLine(1, 0, 1, -1, 3, 3, 99));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> matrix.fillLine(2, 1, -1, -1, 3, 3, 99));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> matrix.fillLine(0, 0, 0, 0, 3, 3, 99));
+    assertEquals(before, matrix);
+  } // fillLineStaysInRow()
+
+  /**
+   * Lines that end at either edge fill every cell on the way.
+   */
+  @Test
+  void fillLineFillsDiagonals() {
+    Matrix<Integer> matrix = numbered(3, 3);
+    matrix.fillLine(0, 0, 1, 1, 3, 3, 99);
+    matrix.fillLine(0, 2, 1, -1, 1, 3, 77);
+    assertEquals(99, matrix.get(0, 0));
+    assertEquals(99, matrix.get(1, 1));
+    assertEquals(99, matrix.get(2, 2));
+    assertEquals(77, matrix.get(0, 2));
+    assertEquals(10, matrix.get(1, 0));
+  } // fillLineFillsDiagonals()
+
+  /**
+   * A line through a matrix with gaps fills the same cells as one without.
+   */
+  @Test
+  void fillLineSkipsGaps() {
+    Matrix<Integer> matrix = numbered(3, 3);
+    matrix.insertRow(1);
+    matrix.insertCol(1);
+    matrix.deleteRow(1);
+    matrix.deleteCol(1);
+    matrix.fillLine(2, 0, -1, 1, 3, 3, 99);
+    assertEquals(99, matrix.get(0, 2));
+    assertEquals(99, matrix.get(1, 1));
+    assertEquals(99, matrix.get(2, 0));
+    assertEquals(12, matrix.get(1, 2));
+  } // fillLineSkipsGaps()
+
+  /**
+   * Rows and columns inserted in the middle shift the rest and keep their values.
+   */
+  @Test
+  void insertAndDelete() {
+    Matrix<Integer> matrix = numbered(3, 3);
+    matrix.insertRow(1);
+    matrix.insertCol(2);
+    assertEquals(4, matrix.height());
+    assertEquals(4, matrix.width());
+    assertEquals(0, matrix.get(1, 1));
+    assertEquals(0, matrix.get(0, 2));
+    assertEquals(22, matrix.get(3, 3));
+    matrix.deleteRow(1);
+    matrix.deleteCol(2);
+    assertEquals(numbered(3, 3), matrix);
+  } // insertAndDelete()
+} // class MatrixV1Test
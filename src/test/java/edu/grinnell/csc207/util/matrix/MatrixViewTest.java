@@ -0,0 +1,82 @@
+package edu.grinnell.csc207.util.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that views of a matrix stay inside their region.
+ *
+ * @author Andrew Fargo
+ */
+class MatrixViewTest {
+  /**
+   * Take the lower right 2x2 view of a 4x4 matrix.
+   *
+   * @param base The matrix.
+   * @return The view.
+   */
+  private static Matrix<Integer> corner(Matrix<Integer> base) {
+    return base.subMatrix(2, 2, 4, 4);
+  } // corner(Matrix<Integer>)
+
+  /**
+   * Count the cells of a matrix holding a value.
+   *
+   * @param matrix The matrix.
+   * @param val The value.
+   * @return How many cells hold it.
+   */
+  private static int count(Matrix<Integer> matrix, int val) {
+    int count = 0;
+    for (int row = 0; row < matrix.height(); row++) {
+      for (int col = 0; col < matrix.width(); col++) {
+        if (matrix.get(row, col) == val) {
+          count++;
+        } // if
+      } // for col
+    } // for row
+    return count;
+  } // count(Matrix<Integer>, int)
+
+  /**
+   * A view of a view is bounded on every side, like a view of a matrix.
+   */
+  @Test
+  void subMatrixStaysInside() {
+    Matrix<Integer> view = corner(new MatrixV0<>(4, 4, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> view.subMatrix(-2, -2, 1, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> view.subMatrix(0, -1, 1, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> view.subMatrix(1, 1, 1, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> view.subMatrix(0, 0, 3, 1));
+    Matrix<Integer> inner = view.subMatrix(1, 1, 2, 2);
+    assertEquals(1, inner.width());
+    assertEquals(1, inner.height());
+  } // subMatrixStaysInside()
+
+  /**
+   * A line that would walk out of a view is refused before anything is written.
+   */
+  @Test
+  void fillLineStaysInside() {
+    Matrix<Integer> base = new MatrixV0<>(4, 4, 0);
+    Matrix<Integer> view = corner(base);
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> view.fillLine(1, 1, -1, -1, 2, 2, 9));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> view.fillLine(0, 0, -1, 1, 2, 2, 9));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> view.fillLine(0, 0, 0, 0, 2, 2, 9));
+    assertEquals(0, count(base, 9));
+
+    // Up and to the right, stopping at the right edge before leaving the top.
+    view.fillLine(1, 0, -1, 1, 2, 2, 9);
+    assertEquals(9, (int) view.get(1, 0));
+    assertEquals(9, (int) view.get(0, 1));
+    assertEquals(2, count(base, 9));
+
+    view.fillLine(0, 0, 1, 1, 2, 2, 7);
+    assertEquals(2, count(base, 7));
+  } // fillLineStaysInside()
+} // class MatrixViewTest